@@ -0,0 +1,82 @@
+package com.dtp5;
+
+import com.dtp5.config.SimulationConfig;
+import com.dtp5.headless.IndexBenchmark;
+import com.dtp5.model.NeighborKernel;
+
+/**
+ * Spatial index benchmark entry point - times build and query cost of every
+ * fish index backend on uniform, clustered and single-school layouts.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * java --enable-preview --add-modules jdk.incubator.vector -cp ocean-ecosystem-simulator-2.0.0.jar \
+ *     com.dtp5.BenchmarkMain --fish=5000 --width=1600 --height=900 --range=200 --rounds=20 --seed=1 \
+ *     --simd=false
+ * </pre>
+ *
+ * {@code --simd=true} runs the nearest-neighbor queries on the Vector API
+ * kernel, which needs the {@code jdk.incubator.vector} module.
+ *
+ * Use the winner with {@code HeadlessMain --index=...} or the index selector
+ * in the control panel.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int fish = SimulationConfig.INITIAL_FISH_COUNT;
+        double width = SimulationConfig.WINDOW_WIDTH;
+        double height = SimulationConfig.WINDOW_HEIGHT;
+        double range = SimulationConfig.SHARK_DETECTION_RANGE;
+        int rounds = 20;
+        long seed = 1;
+        boolean simd = false;
+
+        try {
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Unrecognized argument: " + arg);
+                }
+                String key = arg.substring(2, eq);
+                String value = arg.substring(eq + 1);
+                switch (key) {
+                    case "fish" -> fish = Integer.parseInt(value);
+                    case "width" -> width = Double.parseDouble(value);
+                    case "height" -> height = Double.parseDouble(value);
+                    case "range" -> range = Double.parseDouble(value);
+                    case "rounds" -> rounds = Integer.parseInt(value);
+                    case "seed" -> seed = Long.parseLong(value);
+                    case "simd" -> simd = switch (value) {
+                        case "true" -> true;
+                        case "false" -> false;
+                        default -> throw new IllegalArgumentException("Expected true or false: " + value);
+                    };
+                    default -> throw new IllegalArgumentException("Unknown option: --" + key);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        if (simd && !NeighborKernel.vectorAvailable()) {
+            System.err.println("--simd=true needs the JVM option --add-modules jdk.incubator.vector");
+            System.exit(2);
+            return;
+        }
+        NeighborKernel kernel = simd ? NeighborKernel.vector() : NeighborKernel.scalar();
+        IndexBenchmark benchmark = new IndexBenchmark(fish, width, height, range, rounds, seed, kernel);
+        System.out.println(benchmark.format(benchmark.run()));
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: BenchmarkMain [--fish=N] [--width=PX] [--height=PX] [--range=PX]"
+                + " [--rounds=N] [--seed=N] [--simd=true|false]");
+    }
+}
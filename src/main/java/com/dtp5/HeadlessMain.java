@@ -0,0 +1,109 @@
+package com.dtp5;
+
+import com.dtp5.config.SimulationConfig;
+import com.dtp5.headless.HeadlessRunner;
+import com.dtp5.headless.RunReport;
+import com.dtp5.model.Ocean;
+import com.dtp5.model.SpatialIndexType;
+
+/**
+ * Headless entry point - runs the simulation without a window.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * java --enable-preview --add-modules jdk.incubator.vector -cp ocean-ecosystem-simulator-2.0.0.jar com.dtp5.HeadlessMain \
+ *     --ticks=10000 --fish=1000 --sharks=5 --width=1600 --height=900 --tps=0 --seed=42 \
+ *     --index=grid --verlet=false --simd=false
+ * </pre>
+ *
+ * A {@code --tps} of 0 (the default) runs as fast as the CPU allows. Runs
+ * with the same {@code --seed} and options produce identical results.
+ * {@code --index} picks the fish spatial index: grid, quadtree or kdtree.
+ * {@code --verlet} turns the cached schooling neighbor lists on or off.
+ * {@code --simd} turns the Vector API distance kernel on or off; it needs
+ * the {@code jdk.incubator.vector} module, as in the command above.
+ */
+public class HeadlessMain {
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        long ticks = 1000;
+        int fish = SimulationConfig.INITIAL_FISH_COUNT;
+        int sharks = 0;
+        double width = SimulationConfig.WINDOW_WIDTH;
+        double height = SimulationConfig.WINDOW_HEIGHT;
+        double tps = 0;
+        Long seed = null;
+        SpatialIndexType index = null;
+        Boolean verlet = null;
+        Boolean simd = null;
+
+        try {
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Unrecognized argument: " + arg);
+                }
+                String key = arg.substring(2, eq);
+                String value = arg.substring(eq + 1);
+                switch (key) {
+                    case "ticks" -> ticks = Long.parseLong(value);
+                    case "fish" -> fish = Integer.parseInt(value);
+                    case "sharks" -> sharks = Integer.parseInt(value);
+                    case "width" -> width = Double.parseDouble(value);
+                    case "height" -> height = Double.parseDouble(value);
+                    case "tps" -> tps = Double.parseDouble(value);
+                    case "seed" -> seed = Long.parseLong(value);
+                    case "index" -> index = SpatialIndexType.parse(value);
+                    case "verlet" -> verlet = parseBoolean(value);
+                    case "simd" -> simd = parseBoolean(value);
+                    default -> throw new IllegalArgumentException("Unknown option: --" + key);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        Ocean ocean = seed != null
+                ? new Ocean(fish, width, height, seed)
+                : new Ocean(fish, width, height);
+        if (index != null) {
+            ocean.setSpatialIndexType(index);
+        }
+        if (verlet != null) {
+            ocean.setNeighborListsEnabled(verlet);
+        }
+        if (simd != null) {
+            ocean.setVectorKernelEnabled(simd);
+        }
+        for (int i = 0; i < sharks; i++) {
+            ocean.addShark();
+        }
+
+        try {
+            RunReport report = new HeadlessRunner(ocean, ticks, tps).run();
+            System.out.println(report.format());
+        } finally {
+            ocean.shutdown();
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        return switch (value) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException("Expected true or false: " + value);
+        };
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: HeadlessMain [--ticks=N] [--fish=N] [--sharks=N]"
+                + " [--width=PX] [--height=PX] [--tps=RATE] [--seed=N] [--index=grid|quadtree|kdtree]"
+                + " [--verlet=true|false] [--simd=true|false]");
+    }
+}
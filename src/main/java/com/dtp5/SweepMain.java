@@ -0,0 +1,133 @@
+package com.dtp5;
+
+import com.dtp5.config.EcosystemParameters;
+import com.dtp5.config.SimulationConfig;
+import com.dtp5.headless.SweepRunner;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parameter sweep entry point - runs many headless oceans over a grid of
+ * ecosystem parameters and writes the final statistics as CSV.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * java --enable-preview -cp ocean-ecosystem-simulator-2.0.0.jar com.dtp5.SweepMain \
+ *     --param=energyDecayPerTick:0.25,0.35,0.45 --param=planktonRegenRate:0.4,0.8 \
+ *     --ticks=5000 --fish=300 --seeds=4 --seed=1 --threads=8 --out=sweep.csv
+ * </pre>
+ *
+ * Each {@code --param} adds one axis to the grid; parameters that are not
+ * swept keep their {@link SimulationConfig} value. Without {@code --out}
+ * the CSV goes to standard output; log lines go to standard error, so
+ * {@code > sweep.csv} captures only the CSV.
+ */
+public class SweepMain {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+
+        long ticks = 2000;
+        int fish = SimulationConfig.INITIAL_FISH_COUNT;
+        int sharks = 0;
+        double width = SimulationConfig.WINDOW_WIDTH;
+        double height = SimulationConfig.WINDOW_HEIGHT;
+        int seeds = 1;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int concurrent = 0;
+        Path out = null;
+        List<String> params = new ArrayList<>();
+
+        try {
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Unrecognized argument: " + arg);
+                }
+                String key = arg.substring(2, eq);
+                String value = arg.substring(eq + 1);
+                switch (key) {
+                    case "param" -> params.add(value);
+                    case "ticks" -> ticks = Long.parseLong(value);
+                    case "fish" -> fish = Integer.parseInt(value);
+                    case "sharks" -> sharks = Integer.parseInt(value);
+                    case "width" -> width = Double.parseDouble(value);
+                    case "height" -> height = Double.parseDouble(value);
+                    case "seeds" -> seeds = Integer.parseInt(value);
+                    case "seed" -> seed = Long.parseLong(value);
+                    case "threads" -> threads = Integer.parseInt(value);
+                    case "concurrent" -> concurrent = Integer.parseInt(value);
+                    case "out" -> out = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option: --" + key);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        SweepRunner sweep;
+        try {
+            sweep = new SweepRunner(EcosystemParameters.DEFAULTS, ticks, fish, sharks,
+                    width, height, seeds, seed);
+            for (String param : params) {
+                addAxis(sweep, param);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        int maxConcurrent = concurrent > 0 ? concurrent : 2 * pool.getParallelism();
+        int failed;
+        try (Writer writer = out != null
+                ? Files.newBufferedWriter(out, StandardCharsets.UTF_8)
+                : new OutputStreamWriter(System.out, StandardCharsets.UTF_8)) {
+            failed = sweep.run(pool, maxConcurrent, writer);
+        } finally {
+            pool.shutdown();
+        }
+        if (failed > 0) {
+            System.err.println(failed + " run(s) failed, see log");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Parses {@code name:v1,v2,...} and adds it to the sweep.
+     */
+    private static void addAxis(SweepRunner sweep, String spec) {
+        int colon = spec.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Expected --param=name:v1,v2,... but got " + spec);
+        }
+        String[] parts = spec.substring(colon + 1).split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i].trim());
+        }
+        sweep.sweep(spec.substring(0, colon), values);
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: SweepMain [--param=NAME:V1,V2,...]... [--ticks=N] [--fish=N] [--sharks=N]"
+                + " [--width=PX] [--height=PX] [--seeds=N] [--seed=N] [--threads=N] [--concurrent=N]"
+                + " [--out=FILE]");
+        System.err.println("Parameters: " + String.join(", ", EcosystemParameters.NAMES));
+    }
+}
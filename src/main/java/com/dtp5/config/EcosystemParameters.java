@@ -0,0 +1,80 @@
+package com.dtp5.config;
+
+import java.util.List;
+
+/**
+ * Tunable ecosystem parameters of a single ocean.
+ * <p>
+ * {@link #DEFAULTS} mirrors the constants in {@link SimulationConfig}; a
+ * parameter sweep derives variants from it with {@link #with(String, double)}
+ * so that many differently tuned oceans can run side by side in one JVM.
+ *
+ * @param energyDecayPerTick    Energy every fish burns per tick
+ * @param feedEnergyGain        Energy a fish requests from plankton per feed
+ * @param reproductionThreshold Energy above which a fish reproduces
+ * @param reproductionCost      Energy a parent spends on one offspring
+ * @param planktonRegenRate     Biomass a plankton patch regrows per tick
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public record EcosystemParameters(
+        double energyDecayPerTick,
+        double feedEnergyGain,
+        double reproductionThreshold,
+        double reproductionCost,
+        double planktonRegenRate) {
+
+    /** Parameters as configured in {@link SimulationConfig} */
+    public static final EcosystemParameters DEFAULTS = new EcosystemParameters(
+            SimulationConfig.ENERGY_DECAY_PER_TICK,
+            SimulationConfig.FEED_ENERGY_GAIN,
+            SimulationConfig.REPRODUCTION_THRESHOLD,
+            SimulationConfig.REPRODUCTION_COST,
+            SimulationConfig.PLANKTON_REGEN_RATE);
+
+    /** Parameter names, in component order */
+    public static final List<String> NAMES = List.of(
+            "energyDecayPerTick",
+            "feedEnergyGain",
+            "reproductionThreshold",
+            "reproductionCost",
+            "planktonRegenRate");
+
+    public EcosystemParameters {
+        if (energyDecayPerTick < 0 || feedEnergyGain < 0 || reproductionThreshold < 0
+                || reproductionCost < 0 || planktonRegenRate < 0) {
+            throw new IllegalArgumentException("Ecosystem parameters must be >= 0");
+        }
+    }
+
+    /**
+     * Returns a copy with one parameter replaced.
+     *
+     * @param name  One of {@link #NAMES}
+     * @param value New value
+     * @return The modified parameters
+     */
+    public EcosystemParameters with(String name, double value) {
+        return switch (name) {
+            case "energyDecayPerTick" -> new EcosystemParameters(value, feedEnergyGain,
+                    reproductionThreshold, reproductionCost, planktonRegenRate);
+            case "feedEnergyGain" -> new EcosystemParameters(energyDecayPerTick, value,
+                    reproductionThreshold, reproductionCost, planktonRegenRate);
+            case "reproductionThreshold" -> new EcosystemParameters(energyDecayPerTick, feedEnergyGain,
+                    value, reproductionCost, planktonRegenRate);
+            case "reproductionCost" -> new EcosystemParameters(energyDecayPerTick, feedEnergyGain,
+                    reproductionThreshold, value, planktonRegenRate);
+            case "planktonRegenRate" -> new EcosystemParameters(energyDecayPerTick, feedEnergyGain,
+                    reproductionThreshold, reproductionCost, value);
+            default -> throw new IllegalArgumentException("Unknown parameter: " + name);
+        };
+    }
+
+    /**
+     * Gets the parameter values, in the order of {@link #NAMES}.
+     */
+    public double[] values() {
+        return new double[] { energyDecayPerTick, feedEnergyGain,
+                reproductionThreshold, reproductionCost, planktonRegenRate };
+    }
+}
@@ -17,10 +17,32 @@ public class SimulationConfig {
     // === SIMULATION SETTINGS ===
     public static final int INITIAL_FISH_COUNT = 300;
     public static final int INITIAL_PLANKTON_PATCHES = 12;
-    public static final int TIMER_DELAY_MS = 8; // ~120 FPS target
+    public static final int TARGET_TPS = 120; // Simulation ticks per second
+    public static final int MAX_SUBSTEPS_PER_FRAME = 5; // Catch-up ticks before a frame is published
+    public static final double FIXED_TIMESTEP = 1.0; // Simulated time units per tick
 
     // === SPATIAL PARTITIONING ===
-    public static final int GRID_CELL_SIZE = 100; // pixels
+    public static final int GRID_CELL_SIZE = 50; // pixels; range queries span as many cells as needed
+    public static final int ENTITY_INDEX_CELL_SIZE = 100; // pixels, for sharks, plankton, obstacles...
+    public static final String SPATIAL_INDEX = "grid"; // Fish index: grid, quadtree or kdtree
+    public static final int TREE_LEAF_SIZE = 12; // Max fish per quadtree / kd-tree leaf
+    public static final boolean VERLET_LISTS = false; // Reuse per-fish schooling neighbor lists across ticks
+    public static final double VERLET_SKIN = 40; // pixels added to perception range in neighbor lists
+    public static final boolean VECTOR_KERNEL = false; // SIMD distance kernel (needs jdk.incubator.vector)
+    public static final boolean GRID_INCREMENTAL = true; // Move only fish that changed cell between rebuilds
+    public static final int GRID_CELL_SLACK = 4; // Free entries per grid cell (plus a quarter) for incremental moves
+
+    // === FISH STORAGE ===
+    public static final double FISH_COMPACT_FREE_RATIO = 0.5; // Pack fish slots when this share is free
+    public static final int FISH_SORT_INTERVAL = 600; // Frames between re-sorts of fish slots by cell
+    public static final int FISH_SORT_CHECK_INTERVAL = 30; // Frames between slot-order drift checks
+    public static final double FISH_SORT_MAX_DISORDER = 0.3; // Re-sort early past this share of out-of-order fish
+    public static final double FISH_SORT_BLOCK_SIZE = 200; // pixels; drift is measured between blocks this size
+
+    // === PARALLELISM ===
+    public static final long FISH_TASK_SPLIT_COST = 4096; // Neighbor visits per fork/join leaf task
+    public static final int GRID_REBUILD_CHUNK = 1024; // Min fish slots per parallel grid rebuild chunk
+    public static final int VERLET_REBUILD_CHUNK = 256; // Min fish slots per parallel neighbor-list chunk
 
     // === FISH PHYSICS ===
     public static final double FISH_SPEED = 3.0;
@@ -77,12 +99,14 @@ public class SimulationConfig {
     public static final double CURRENT_INFLUENCE = 0.35;
     public static final int ENV_FIELD_CELLS = 32;
     public static final double ENV_FIELD_TIME_SCALE = 0.0015;
+    public static final boolean ENV_FIELD_INTERPOLATE = true; // Blend currents between cells (false: nearest cell)
     public static final double PLANKTON_MAX_BIOMASS = 400.0;
     public static final double PLANKTON_REGEN_RATE = 0.8;
     public static final double PLANKTON_FEED_RADIUS = 28.0;
     public static final int MAX_FISH = 1800;
     public static final int MIN_FISH = 20; // Minimum fish to maintain
     public static final int MAX_SHARKS = 35;
+    public static final double SHARK_DETECTION_RANGE = 200.0; // pixels
 
     // === UI CONTROL PANEL ===
     public static final int CONTROL_PANEL_HEIGHT = 60;
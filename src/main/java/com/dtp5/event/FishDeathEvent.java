@@ -1,6 +1,6 @@
 package com.dtp5.event;
 
-import com.dtp5.model.Poisson;
+import com.dtp5.model.FishSpecies;
 
 /**
  * Event fired when a fish dies (starvation, caught, etc.).
@@ -14,21 +14,21 @@ public class FishDeathEvent extends SimulationEvent {
         OTHER
     }
 
-    private final Poisson fish;
+    private final FishSpecies species;
     private final DeathCause cause;
     private final double lastX;
     private final double lastY;
 
-    public FishDeathEvent(Poisson fish, DeathCause cause, long frameNumber) {
-        super(null, frameNumber); // Poisson doesn't extend Entity yet
-        this.fish = fish;
+    public FishDeathEvent(FishSpecies species, double lastX, double lastY, DeathCause cause, long frameNumber) {
+        super(null, frameNumber); // Fish live in FishStore, not as entities
+        this.species = species;
         this.cause = cause;
-        this.lastX = fish.posX;
-        this.lastY = fish.posY;
+        this.lastX = lastX;
+        this.lastY = lastY;
     }
 
-    public Poisson getFish() {
-        return fish;
+    public FishSpecies getSpecies() {
+        return species;
     }
 
     public DeathCause getCause() {
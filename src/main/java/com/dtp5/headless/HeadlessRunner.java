@@ -0,0 +1,75 @@
+package com.dtp5.headless;
+
+import com.dtp5.model.Ocean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives an {@link Ocean} without any Swing component attached.
+ * <p>
+ * Ticks either run back-to-back as fast as the CPU allows, or are paced to a
+ * target tick rate. Pacing uses absolute deadlines so that a slow tick is
+ * caught up by the following ones instead of accumulating drift.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public class HeadlessRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessRunner.class);
+
+    private final Ocean ocean;
+    private final long ticks;
+    private final double targetTicksPerSecond;
+
+    /**
+     * Creates a runner for the given ocean.
+     *
+     * @param ocean                The ocean to simulate
+     * @param ticks                Number of ticks to simulate
+     * @param targetTicksPerSecond Tick rate to pace to, or {@code <= 0} to run
+     *                             unthrottled
+     */
+    public HeadlessRunner(Ocean ocean, long ticks, double targetTicksPerSecond) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("ticks must be >= 0: " + ticks);
+        }
+        this.ocean = ocean;
+        this.ticks = ticks;
+        this.targetTicksPerSecond = targetTicksPerSecond;
+    }
+
+    /**
+     * Runs all ticks on the calling thread.
+     *
+     * @return Report describing throughput and final ecosystem state
+     */
+    public RunReport run() {
+        long periodNanos = targetTicksPerSecond > 0 ? (long) (1_000_000_000L / targetTicksPerSecond) : 0;
+        long progressInterval = Math.max(1, ticks / 10);
+
+        long start = System.nanoTime();
+        long deadline = start;
+
+        for (long t = 1; t <= ticks; t++) {
+            ocean.updateOcean();
+
+            if (t % progressInterval == 0) {
+                logger.debug("Tick {}/{} - {} fish", t, ticks, ocean.fish.size());
+            }
+
+            if (periodNanos > 0) {
+                deadline += periodNanos;
+                long wait = deadline - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+        }
+
+        return RunReport.of(ocean, ticks, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,186 @@
+package com.dtp5.headless;
+
+import com.dtp5.model.FishSpecies;
+import com.dtp5.model.FishStore;
+import com.dtp5.model.NeighborKernel;
+import com.dtp5.model.SpatialIndex;
+import com.dtp5.model.SpatialIndexType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Measures build and query cost of every {@link SpatialIndexType} on
+ * synthetic fish distributions, to pick the index that suits a workload.
+ * <p>
+ * For each distribution and backend it times, averaged over several rounds
+ * after a warm-up:
+ * <ul>
+ * <li>a full build from scratch (the grid is invalidated first, so its
+ * incremental path is not measured)</li>
+ * <li>one schooling query per fish: the {@code k} nearest within the
+ * perception range, as fish steering does</li>
+ * <li>one range query per fish, as shark hunting does</li>
+ * </ul>
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public class IndexBenchmark {
+
+    /** How fish are spread over the world. */
+    public enum Distribution {
+        /** Evenly over the whole world */
+        UNIFORM,
+        /** In a dozen schools of various sizes */
+        CLUSTERED,
+        /** All in one tight school */
+        BAIT_BALL
+    }
+
+    /**
+     * Timings for one backend on one distribution.
+     *
+     * @param buildMicros    Average full build, in microseconds
+     * @param nearestNanos   Average k-nearest query, in nanoseconds
+     * @param withinNanos    Average range query, in nanoseconds
+     */
+    public record Result(SpatialIndexType type, Distribution distribution, double buildMicros,
+            double nearestNanos, double withinNanos) {
+    }
+
+    private static final int WARMUP_ROUNDS = 10;
+
+    private final int fishCount;
+    private final double width;
+    private final double height;
+    private final int rounds;
+    private final long seed;
+    private final NeighborKernel kernel;
+    private final int k = FishSpecies.SMALL_FISH.getSchoolingNeighbors();
+    private final double nearestRadius = FishSpecies.SMALL_FISH.getMaxDistance();
+    private final double withinRadius;
+
+    /** Sink for query results, so the JIT cannot drop the queries */
+    private long checksum;
+
+    /**
+     * @param fishCount    Fish per distribution
+     * @param width        World width in pixels
+     * @param height       World height in pixels
+     * @param withinRadius Radius of the range queries in pixels
+     * @param rounds       Timed rounds per measurement
+     * @param seed         Seed for the fish positions
+     * @param kernel       Distance kernel for the nearest-neighbor queries
+     */
+    public IndexBenchmark(int fishCount, double width, double height, double withinRadius, int rounds, long seed,
+            NeighborKernel kernel) {
+        this.fishCount = fishCount;
+        this.width = width;
+        this.height = height;
+        this.withinRadius = withinRadius;
+        this.rounds = Math.max(1, rounds);
+        this.seed = seed;
+        this.kernel = kernel;
+    }
+
+    /**
+     * Runs every backend on every distribution.
+     */
+    public List<Result> run() {
+        List<Result> results = new ArrayList<>();
+        for (Distribution distribution : Distribution.values()) {
+            FishStore fish = createFish(distribution);
+            for (SpatialIndexType type : SpatialIndexType.values()) {
+                results.add(measure(type, distribution, fish));
+            }
+        }
+        return results;
+    }
+
+    private Result measure(SpatialIndexType type, Distribution distribution, FishStore fish) {
+        SpatialIndex index = type.create(width, height);
+        index.setKernel(kernel);
+        SpatialIndex.Nearest nearest = new SpatialIndex.Nearest();
+        SpatialIndex.Neighbors within = new SpatialIndex.Neighbors();
+        long buildNanos = 0;
+        long nearestNanos = 0;
+        long withinNanos = 0;
+
+        for (int round = -WARMUP_ROUNDS; round < rounds; round++) {
+            long start = System.nanoTime();
+            index.invalidate();
+            index.update(fish, null);
+            long built = System.nanoTime();
+            for (int i = fish.nextAlive(0); i >= 0; i = fish.nextAlive(i + 1)) {
+                checksum += index.gatherNearest(fish, fish.x(i), fish.y(i), nearestRadius, k, i, nearest);
+            }
+            long queried = System.nanoTime();
+            for (int i = fish.nextAlive(0); i >= 0; i = fish.nextAlive(i + 1)) {
+                checksum += index.gatherWithin(fish.x(i), fish.y(i), withinRadius, within);
+            }
+            long end = System.nanoTime();
+            if (round >= 0) {
+                buildNanos += built - start;
+                nearestNanos += queried - built;
+                withinNanos += end - queried;
+            }
+        }
+        double queries = (double) rounds * fish.size();
+        return new Result(type, distribution, buildNanos / 1e3 / rounds,
+                nearestNanos / queries, withinNanos / queries);
+    }
+
+    private FishStore createFish(Distribution distribution) {
+        SplittableRandom random = new SplittableRandom(seed);
+        FishStore fish = new FishStore(fishCount, random.split());
+        double[][] schools = new double[12][];
+        for (int s = 0; s < schools.length; s++) {
+            // Center and spread of each school
+            schools[s] = new double[] { random.nextDouble(width), random.nextDouble(height),
+                    10 + random.nextDouble(60) };
+        }
+        for (int i = 0; i < fishCount; i++) {
+            double x;
+            double y;
+            switch (distribution) {
+                case UNIFORM -> {
+                    x = random.nextDouble(width);
+                    y = random.nextDouble(height);
+                }
+                case CLUSTERED -> {
+                    double[] school = schools[random.nextInt(schools.length)];
+                    x = school[0] + random.nextGaussian() * school[2];
+                    y = school[1] + random.nextGaussian() * school[2];
+                }
+                default -> {
+                    x = width / 2 + random.nextGaussian() * 25;
+                    y = height / 2 + random.nextGaussian() * 25;
+                }
+            }
+            fish.add(Math.clamp(x, 0, width), Math.clamp(y, 0, height), 0, FishSpecies.SMALL_FISH);
+        }
+        return fish;
+    }
+
+    /**
+     * Formats results as a plain-text table, one row per backend and
+     * distribution.
+     */
+    public String format(List<Result> results) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%d fish, %.0fx%.0f, k=%d within %.0f px, range %.0f px%n",
+                fishCount, width, height, k, nearestRadius, withinRadius));
+        sb.append(String.format(Locale.ROOT, "%-10s %-9s %12s %12s %12s%n",
+                "layout", "index", "build (us)", "knn (ns)", "range (ns)"));
+        for (Result r : results) {
+            sb.append(String.format(Locale.ROOT, "%-10s %-9s %12.1f %12.1f %12.1f%n",
+                    r.distribution().name().toLowerCase(Locale.ROOT), r.type().id,
+                    r.buildMicros(), r.nearestNanos(), r.withinNanos()));
+        }
+        sb.append("checksum ").append(checksum);
+        return sb.toString();
+    }
+}
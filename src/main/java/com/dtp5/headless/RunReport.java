@@ -0,0 +1,67 @@
+package com.dtp5.headless;
+
+import com.dtp5.model.Ocean;
+
+/**
+ * Summary of a headless simulation run.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public record RunReport(
+        long ticks,
+        long elapsedNanos,
+        int fishCount,
+        int sharkCount,
+        long births,
+        long deaths,
+        long feedEvents,
+        double avgEnergy) {
+
+    /**
+     * Captures the final state of an ocean after a run.
+     *
+     * @param ocean        The simulated ocean
+     * @param ticks        Number of ticks that were simulated
+     * @param elapsedNanos Wall-clock time spent simulating
+     * @return The report
+     */
+    public static RunReport of(Ocean ocean, long ticks, long elapsedNanos) {
+        return new RunReport(
+                ticks,
+                elapsedNanos,
+                ocean.fish.size(),
+                ocean.sharks.size(),
+                ocean.stats.getBirths(),
+                ocean.stats.getDeaths(),
+                ocean.stats.getFeedEvents(),
+                ocean.stats.getAvgEnergy());
+    }
+
+    /**
+     * Gets the achieved simulation throughput.
+     *
+     * @return Ticks per second of wall-clock time
+     */
+    public double ticksPerSecond() {
+        return elapsedNanos > 0 ? ticks * 1_000_000_000.0 / elapsedNanos : 0.0;
+    }
+
+    /**
+     * Formats the report as human-readable lines.
+     */
+    public String format() {
+        return String.format(
+                "Ticks:      %d%n" +
+                        "Elapsed:    %.2f s%n" +
+                        "Ticks/sec:  %.1f%n" +
+                        "Fish:       %d%n" +
+                        "Sharks:     %d%n" +
+                        "Births:     %d%n" +
+                        "Deaths:     %d%n" +
+                        "Feeds:      %d%n" +
+                        "Avg energy: %.1f",
+                ticks, elapsedNanos / 1_000_000_000.0, ticksPerSecond(),
+                fishCount, sharkCount, births, deaths, feedEvents, avgEnergy);
+    }
+}
@@ -0,0 +1,219 @@
+package com.dtp5.headless;
+
+import com.dtp5.config.EcosystemParameters;
+import com.dtp5.model.Ocean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs many independent headless oceans over a grid of ecosystem parameters
+ * and writes one CSV row per run.
+ * <p>
+ * Every combination of the swept parameter values is run once per replica
+ * seed ({@code baseSeed}, {@code baseSeed + 1}, ...). All combinations share
+ * the same seeds, so differences between rows of the same replica come from
+ * the parameters rather than from luck.
+ * <p>
+ * Each run is orchestrated by its own virtual thread, while the ticks
+ * themselves execute on one shared {@link ForkJoinPool}; the pool's
+ * parallelism is therefore the CPU budget for the whole sweep. A semaphore
+ * caps how many oceans are alive at once to bound memory. Rows are written
+ * and flushed as runs finish, so their order follows completion; the
+ * {@code run} column gives the grid order.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public class SweepRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SweepRunner.class);
+
+    private final Map<String, double[]> grid = new LinkedHashMap<>();
+    private final EcosystemParameters base;
+    private final long ticks;
+    private final int fish;
+    private final int sharks;
+    private final double width;
+    private final double height;
+    private final int replicas;
+    private final long baseSeed;
+
+    /**
+     * Creates a sweep with no swept parameters yet (a single combination,
+     * equal to {@code base}).
+     *
+     * @param base     Parameters used for every value that is not swept
+     * @param ticks    Ticks simulated per run
+     * @param fish     Initial fish per ocean
+     * @param sharks   Sharks added to each ocean
+     * @param width    Ocean width in pixels
+     * @param height   Ocean height in pixels
+     * @param replicas Number of seeds each combination is run with
+     * @param baseSeed Seed of the first replica
+     */
+    public SweepRunner(EcosystemParameters base, long ticks, int fish, int sharks,
+            double width, double height, int replicas, long baseSeed) {
+        if (ticks < 0 || replicas < 1) {
+            throw new IllegalArgumentException("ticks must be >= 0 and replicas >= 1");
+        }
+        this.base = base;
+        this.ticks = ticks;
+        this.fish = fish;
+        this.sharks = sharks;
+        this.width = width;
+        this.height = height;
+        this.replicas = replicas;
+        this.baseSeed = baseSeed;
+    }
+
+    /**
+     * Adds a swept parameter.
+     *
+     * @param name   One of {@link EcosystemParameters#NAMES}
+     * @param values Values to try
+     * @return This runner
+     */
+    public SweepRunner sweep(String name, double... values) {
+        if (!EcosystemParameters.NAMES.contains(name)) {
+            throw new IllegalArgumentException("Unknown parameter: " + name);
+        }
+        if (values.length == 0) {
+            throw new IllegalArgumentException("No values for " + name);
+        }
+        grid.put(name, values.clone());
+        return this;
+    }
+
+    /**
+     * Expands the grid into every parameter combination, first swept
+     * parameter varying slowest.
+     */
+    public List<EcosystemParameters> combinations() {
+        List<EcosystemParameters> result = new ArrayList<>();
+        result.add(base);
+        for (Map.Entry<String, double[]> axis : grid.entrySet()) {
+            List<EcosystemParameters> expanded = new ArrayList<>(result.size() * axis.getValue().length);
+            for (EcosystemParameters p : result) {
+                for (double value : axis.getValue()) {
+                    expanded.add(p.with(axis.getKey(), value));
+                }
+            }
+            result = expanded;
+        }
+        return result;
+    }
+
+    /**
+     * Runs the whole sweep and writes the CSV (header first).
+     *
+     * @param pool          Shared pool all oceans tick on
+     * @param maxConcurrent Maximum number of oceans alive at once
+     * @param out           CSV destination
+     * @return Number of runs that failed
+     */
+    public int run(ForkJoinPool pool, int maxConcurrent, Writer out) throws InterruptedException {
+        List<EcosystemParameters> combos = combinations();
+        int total = combos.size() * replicas;
+        logger.info("Sweeping {} combinations x {} seeds = {} runs on {} workers",
+                combos.size(), replicas, total, pool.getParallelism());
+
+        write(out, header());
+        Semaphore slots = new Semaphore(Math.max(1, maxConcurrent));
+        AtomicInteger finished = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            int run = 0;
+            for (EcosystemParameters params : combos) {
+                for (int r = 0; r < replicas; r++) {
+                    int index = run++;
+                    long seed = baseSeed + r;
+                    slots.acquire();
+                    threads.execute(() -> {
+                        try {
+                            RunReport report = runOne(params, seed, pool);
+                            write(out, row(index, seed, params, report));
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                            logger.error("Run {} (seed {}, {}) failed", index, seed, params, e);
+                        } finally {
+                            slots.release();
+                            int done = finished.incrementAndGet();
+                            if (done % Math.max(1, total / 20) == 0) {
+                                logger.info("Sweep progress: {}/{}", done, total);
+                            }
+                        }
+                    });
+                }
+            }
+        }
+        return failed.get();
+    }
+
+    private RunReport runOne(EcosystemParameters params, long seed, ForkJoinPool pool) {
+        Ocean ocean = new Ocean(fish, width, height, seed, params, pool);
+        try {
+            for (int i = 0; i < sharks; i++) {
+                ocean.addShark();
+            }
+            return new HeadlessRunner(ocean, ticks, 0).run();
+        } finally {
+            ocean.shutdown();
+        }
+    }
+
+    /**
+     * Gets the CSV header line.
+     */
+    public static String header() {
+        return "run,seed," + String.join(",", EcosystemParameters.NAMES)
+                + ",ticks,fish,sharks,births,deaths,feeds,avgEnergy,elapsedSec";
+    }
+
+    /**
+     * Formats one CSV row.
+     */
+    public static String row(int run, long seed, EcosystemParameters params, RunReport report) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(run).append(',').append(seed);
+        for (double v : params.values()) {
+            sb.append(',').append(v);
+        }
+        sb.append(',').append(report.ticks())
+                .append(',').append(report.fishCount())
+                .append(',').append(report.sharkCount())
+                .append(',').append(report.births())
+                .append(',').append(report.deaths())
+                .append(',').append(report.feedEvents())
+                .append(',').append(String.format(Locale.ROOT, "%.3f", report.avgEnergy()))
+                .append(',').append(String.format(Locale.ROOT, "%.3f", report.elapsedNanos() / 1e9));
+        return sb.toString();
+    }
+
+    private static void write(Writer out, String line) {
+        synchronized (out) {
+            try {
+                out.write(line);
+                out.write(System.lineSeparator());
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
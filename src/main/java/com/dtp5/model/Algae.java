@@ -1,6 +1,6 @@
 package com.dtp5.model;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents animated algae/seaweed that sways with currents.
@@ -21,7 +21,7 @@ public class Algae {
         KELP
     }
     
-    public Algae(double x, double y, AlgaeType type, Random random) {
+    public Algae(double x, double y, AlgaeType type, RandomGenerator random) {
         this.baseX = x;
         this.baseY = y;
         this.type = type;
@@ -48,6 +48,16 @@ public class Algae {
         }
     }
     
+    public Algae(Algae other) {
+        this.baseX = other.baseX;
+        this.baseY = other.baseY;
+        this.height = other.height;
+        this.width = other.width;
+        this.phase = other.phase;
+        this.swaySpeed = other.swaySpeed;
+        this.type = other.type;
+    }
+    
     public void update(long frameCount, double currentVx, double currentVy) {
         phase += swaySpeed;
         // Sway influenced by current
@@ -1,7 +1,7 @@
 package com.dtp5.model;
 
 import java.awt.Color;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a coral formation on the ocean floor.
@@ -71,7 +71,7 @@ public class Coral {
     /**
      * Creates a new coral at the specified position.
      */
-    public Coral(double x, double y, CoralType type, Random random) {
+    public Coral(double x, double y, CoralType type, RandomGenerator random) {
         this.posX = x;
         this.posY = y;
         this.type = type;
@@ -86,16 +86,31 @@ public class Coral {
         this.secondaryColor = varyColor(palette[1], random, 20);
     }
 
+    /**
+     * Creates a copy of another coral, e.g. for a frame snapshot.
+     */
+    public Coral(Coral other) {
+        this.posX = other.posX;
+        this.posY = other.posY;
+        this.type = other.type;
+        this.size = other.size;
+        this.rotation = other.rotation;
+        this.swayPhase = other.swayPhase;
+        this.swaySpeed = other.swaySpeed;
+        this.primaryColor = other.primaryColor;
+        this.secondaryColor = other.secondaryColor;
+    }
+
     /**
      * Creates a random coral at the specified position.
      */
-    public static Coral createRandom(double x, double y, Random random) {
+    public static Coral createRandom(double x, double y, RandomGenerator random) {
         CoralType[] types = CoralType.values();
         CoralType type = types[random.nextInt(types.length)];
         return new Coral(x, y, type, random);
     }
 
-    private Color varyColor(Color base, Random random, int variance) {
+    private Color varyColor(Color base, RandomGenerator random, int variance) {
         int r = clamp(base.getRed() + random.nextInt(variance * 2) - variance, 0, 255);
         int g = clamp(base.getGreen() + random.nextInt(variance * 2) - variance, 0, 255);
         int b = clamp(base.getBlue() + random.nextInt(variance * 2) - variance, 0, 255);
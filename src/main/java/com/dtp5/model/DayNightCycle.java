@@ -56,6 +56,18 @@ public class DayNightCycle {
         this(36000); // 10 minutes at 60fps
     }
 
+    /**
+     * Creates a copy of another cycle, e.g. for a frame snapshot.
+     * 
+     * @param other Cycle to copy
+     */
+    public DayNightCycle(DayNightCycle other) {
+        this.cycleDuration = other.cycleDuration;
+        this.cyclePosition = other.cyclePosition;
+        this.timeMultiplier = other.timeMultiplier;
+        this.paused = other.paused;
+    }
+
     /**
      * Updates the cycle by one tick.
      */
@@ -43,6 +43,18 @@ public abstract class Entity {
         this.posY = y;
     }
 
+    /**
+     * Creates a copy of another entity that keeps its identifier.
+     * 
+     * @param other Entity to copy
+     */
+    protected Entity(Entity other) {
+        this.id = other.id;
+        this.posX = other.posX;
+        this.posY = other.posY;
+        this.alive = other.alive;
+    }
+
     /**
      * Gets the unique identifier for this entity.
      * 
@@ -0,0 +1,257 @@
+package com.dtp5.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Spatial index over one kind of entity (sharks, plankton patches, ...),
+ * answering nearest and within-radius queries without scanning the whole
+ * list.
+ * <p>
+ * A rebuild copies the entities' positions and counting-sorts them into a
+ * uniform grid, in the same flat {@code cellStart}/{@code cellItems} layout
+ * as {@link SpatialGrid}. Queries return <em>item indices</em> into the list
+ * the layer was last built from, so callers can keep using index-based
+ * bookkeeping (see {@link FishStore#feedPatch(int)}). Entities outside the
+ * world are filed in the nearest border cell, which keeps every query exact
+ * for points inside it.
+ * <p>
+ * Entities may have an extent (an obstacle's radius, a patch's feeding
+ * radius); {@link #maxExtent()} lets callers widen a query so that any
+ * entity whose extent reaches the query point is among the candidates.
+ * <p>
+ * A layer is rebuilt by the phase that owns its entities and may then be
+ * queried from any number of threads until the next rebuild.
+ *
+ * @param <T> Entity type
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public final class EntityLayer<T> {
+
+    private final ToDoubleFunction<? super T> xOf;
+    private final ToDoubleFunction<? super T> yOf;
+    private final ToDoubleFunction<? super T> extentOf;
+    private final double cellSize;
+    private int gridWidth;
+    private int gridHeight;
+    private int[] cellStart;
+
+    private Object[] items = new Object[0];
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private int[] itemCell = new int[0];
+    private int[] cellItems = new int[0];
+    private int size;
+    private double maxExtent;
+
+    /**
+     * Creates an empty layer.
+     *
+     * @param width    World width in pixels
+     * @param height   World height in pixels
+     * @param cellSize Grid cell size in pixels
+     * @param xOf      Entity X position
+     * @param yOf      Entity Y position
+     * @param extentOf Entity radius (0 for point-like entities)
+     */
+    public EntityLayer(double width, double height, double cellSize, ToDoubleFunction<? super T> xOf,
+            ToDoubleFunction<? super T> yOf, ToDoubleFunction<? super T> extentOf) {
+        this.xOf = xOf;
+        this.yOf = yOf;
+        this.extentOf = extentOf;
+        this.cellSize = cellSize;
+        this.gridWidth = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.gridHeight = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cellStart = new int[gridWidth * gridHeight + 1];
+    }
+
+    /**
+     * Re-indexes the layer from the current entity list.
+     */
+    public void rebuild(List<? extends T> entities) {
+        // Snapshot first; concurrent lists may change size between calls
+        Object[] snapshot = entities.toArray();
+        int n = snapshot.length;
+        if (xs.length < n) {
+            int capacity = Math.max(n, xs.length * 2);
+            xs = new double[capacity];
+            ys = new double[capacity];
+            itemCell = new int[capacity];
+            cellItems = new int[capacity];
+        }
+        items = snapshot;
+        size = n;
+        maxExtent = 0;
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            T entity = (T) snapshot[i];
+            xs[i] = xOf.applyAsDouble(entity);
+            ys[i] = yOf.applyAsDouble(entity);
+            maxExtent = Math.max(maxExtent, extentOf.applyAsDouble(entity));
+        }
+        fileItems();
+    }
+
+    /**
+     * Resizes the grid for a new world size and re-files the entities it
+     * was last built from, so queries stay valid until the next rebuild.
+     * The cell array is only reallocated when the grid grows past its
+     * capacity.
+     */
+    public void resize(double width, double height) {
+        gridWidth = Math.max(1, (int) Math.ceil(width / cellSize));
+        gridHeight = Math.max(1, (int) Math.ceil(height / cellSize));
+        if (cellStart.length < gridWidth * gridHeight + 1) {
+            cellStart = new int[gridWidth * gridHeight + 1];
+        }
+        fileItems();
+    }
+
+    /**
+     * Counting-sorts the item positions into cells.
+     */
+    private void fileItems() {
+        int n = size;
+        int cells = gridWidth * gridHeight;
+        Arrays.fill(cellStart, 0, cells + 1, 0);
+        for (int i = 0; i < n; i++) {
+            int cell = column(xs[i]) * gridHeight + row(ys[i]);
+            itemCell[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        // Scatter in index order, using cellStart as cursors, then shift back
+        for (int i = 0; i < n; i++) {
+            cellItems[cellStart[itemCell[i]]++] = i;
+        }
+        for (int c = cells; c > 0; c--) {
+            cellStart[c] = cellStart[c - 1];
+        }
+        cellStart[0] = 0;
+    }
+
+    private int column(double x) {
+        return Math.min(gridWidth - 1, Math.max(0, (int) Math.floor(x / cellSize)));
+    }
+
+    private int row(double y) {
+        return Math.min(gridHeight - 1, Math.max(0, (int) Math.floor(y / cellSize)));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets an entity by the index a query returned.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) items[index];
+    }
+
+    /**
+     * Gets the X position the entity had when the layer was built.
+     */
+    public double x(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Gets the Y position the entity had when the layer was built.
+     */
+    public double y(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Gets the largest entity extent in the layer.
+     */
+    public double maxExtent() {
+        return maxExtent;
+    }
+
+    /**
+     * Finds the entity closest to a position, among those strictly closer
+     * than {@code maxDistance}. Ties go to the lowest index, as a linear scan
+     * of the list would.
+     *
+     * @return Item index, or -1 if there is none in range
+     */
+    public int nearest(double x, double y, double maxDistance) {
+        if (size == 0) {
+            return -1;
+        }
+        int best = -1;
+        double bestDist = maxDistance * maxDistance;
+        int xMin = column(x - maxDistance);
+        int xMax = column(x + maxDistance);
+        int yMin = row(y - maxDistance);
+        int yMax = row(y + maxDistance);
+
+        for (int cx = xMin; cx <= xMax; cx++) {
+            int col = cx * gridHeight;
+            for (int k = cellStart[col + yMin], end = cellStart[col + yMax + 1]; k < end; k++) {
+                int i = cellItems[k];
+                double dx = xs[i] - x;
+                double dy = ys[i] - y;
+                double d = dx * dx + dy * dy;
+                if (d < bestDist || (d == bestDist && best >= 0 && i < best)) {
+                    best = i;
+                    bestDist = d;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Copies the indices of all entities filed in cells overlapping the
+     * square around a circle into a reusable buffer. Candidates may lie
+     * outside the radius; callers filter by exact distance.
+     *
+     * @return The number of indices gathered
+     */
+    public int gatherWithin(double x, double y, double radius, SpatialIndex.Neighbors out) {
+        out.size = 0;
+        if (size == 0) {
+            return 0;
+        }
+        int xMin = column(x - radius);
+        int xMax = column(x + radius);
+        int yMin = row(y - radius);
+        int yMax = row(y + radius);
+
+        for (int cx = xMin; cx <= xMax; cx++) {
+            int col = cx * gridHeight;
+            int start = cellStart[col + yMin];
+            out.append(cellItems, start, cellStart[col + yMax + 1] - start);
+        }
+        return out.size;
+    }
+
+    /**
+     * Passes every entity filed in cells overlapping the square around a
+     * circle to a visitor, as an item index.
+     */
+    public void forEachWithin(double x, double y, double radius, NeighborVisitor visitor) {
+        if (size == 0) {
+            return;
+        }
+        int xMin = column(x - radius);
+        int xMax = column(x + radius);
+        int yMin = row(y - radius);
+        int yMax = row(y + radius);
+
+        for (int cx = xMin; cx <= xMax; cx++) {
+            int col = cx * gridHeight;
+            for (int k = cellStart[col + yMin], end = cellStart[col + yMax + 1]; k < end; k++) {
+                visitor.visit(cellItems[k]);
+            }
+        }
+    }
+}
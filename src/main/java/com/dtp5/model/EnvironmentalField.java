@@ -2,23 +2,38 @@ package com.dtp5.model;
 
 import com.dtp5.config.SimulationConfig;
 
-import java.awt.geom.Point2D;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Lightweight procedural field that simulates underwater currents and a
  * temperature gradient.
  * Values are cached per cell and evolve smoothly over time.
+ * <p>
+ * Each cell's value stands for its center. Sampling blends the four
+ * nearest centers bilinearly, so the current changes smoothly across cell
+ * borders (or, with interpolation off, takes the containing cell's value).
+ * Positions outside the world get the value at the nearest edge. Cell
+ * values live in flat primitive arrays and sampling writes into
+ * caller-provided arrays, so it never allocates; {@link #sampleVectors}
+ * samples a whole array of positions in one call.
  */
 public class EnvironmentalField {
     private final int cellsX;
     private final int cellsY;
-    private final double cellSizeX;
-    private final double cellSizeY;
-    private final VectorCell[][] field;
+    private double cellSizeX;
+    private double cellSizeY;
+
+    // Cell values, indexed x * cellsY + y
+    private final double[] flowX;
+    private final double[] flowY;
+    private final double[] heat;
+
+    /** Whether sampling blends neighboring cells */
+    private boolean interpolated = SimulationConfig.ENV_FIELD_INTERPOLATE;
     private double time = 0.0;
-    private final java.util.Random random = new java.util.Random();
-    private final double gyreOffsetX = random.nextDouble();
-    private final double gyreOffsetY = random.nextDouble();
+    private final double gyreOffsetX;
+    private final double gyreOffsetY;
     
     // Adjustable parameters
     private double currentStrength = 1.0; // Multiplier for current strength (0.0 to 2.0)
@@ -35,16 +50,32 @@ public class EnvironmentalField {
     }
 
     public EnvironmentalField(double width, double height) {
+        this(width, height, new SplittableRandom());
+    }
+
+    /**
+     * Creates a field whose gyre placement is drawn from the given generator.
+     */
+    public EnvironmentalField(double width, double height, RandomGenerator random) {
+        this.gyreOffsetX = random.nextDouble();
+        this.gyreOffsetY = random.nextDouble();
         this.cellsX = SimulationConfig.ENV_FIELD_CELLS;
         this.cellsY = SimulationConfig.ENV_FIELD_CELLS;
         this.cellSizeX = width / cellsX;
         this.cellSizeY = height / cellsY;
-        this.field = new VectorCell[cellsX][cellsY];
-        for (int x = 0; x < cellsX; x++) {
-            for (int y = 0; y < cellsY; y++) {
-                field[x][y] = new VectorCell();
-            }
-        }
+        this.flowX = new double[cellsX * cellsY];
+        this.flowY = new double[cellsX * cellsY];
+        this.heat = new double[cellsX * cellsY];
+    }
+
+    /**
+     * Stretches the field over a new world size. Cells are laid out in
+     * normalized coordinates, so they keep their values, and the time,
+     * gyre placement and current settings carry on unchanged.
+     */
+    public void resize(double width, double height) {
+        this.cellSizeX = width / cellsX;
+        this.cellSizeY = height / cellsY;
     }
 
     public void tick(double deltaTime) {
@@ -108,11 +139,12 @@ public class EnvironmentalField {
                 double edgeFalloff = Math.min(Math.min(nx, 1 - nx), Math.min(ny, 1 - ny)) * 2.0;
                 double strength = Math.max(0.15, edgeFalloff) * currentStrength;
 
-                field[x][y].vx = vx * strength;
-                field[x][y].vy = vy * strength;
+                int c = x * cellsY + y;
+                flowX[c] = vx * strength;
+                flowY[c] = vy * strength;
 
                 // Temperature is higher near the surface (top of panel)
-                field[x][y].temperature = 18 + 8 * (1.0 - ny) + 2 * Math.sin(time + nx * 1.2);
+                heat[c] = 18 + 8 * (1.0 - ny) + 2 * Math.sin(time + nx * 1.2);
             }
         }
     }
@@ -142,24 +174,102 @@ public class EnvironmentalField {
         return pattern;
     }
 
+    /**
+     * Turns bilinear sampling on or off; off, a position takes the value of
+     * the cell that contains it.
+     */
+    public void setInterpolated(boolean interpolated) {
+        this.interpolated = interpolated;
+    }
+
+    public boolean isInterpolated() {
+        return interpolated;
+    }
+
     /**
      * Samples the current vector for a world position.
+     *
+     * @param out Receives the X component at index 0 and Y at index 1
      */
-    public Point2D.Double sampleVector(double worldX, double worldY) {
-        int cx = clamp((int) (worldX / cellSizeX), 0, cellsX - 1);
-        int cy = clamp((int) (worldY / cellSizeY), 0, cellsY - 1);
-        VectorCell c = field[cx][cy];
-        return new Point2D.Double(c.vx, c.vy);
+    public void sampleVector(double worldX, double worldY, double[] out) {
+        out[0] = sample(flowX, worldX, worldY);
+        out[1] = sample(flowY, worldX, worldY);
+    }
+
+    /**
+     * Samples the current vector at each of the positions
+     * {@code [from, to)}, with exactly the results of {@link #sampleVector}.
+     *
+     * @param outX Receives the X component of position {@code k} at
+     *             {@code k - from}
+     * @param outY Receives the Y component likewise
+     */
+    public void sampleVectors(double[] xs, double[] ys, int from, int to, double[] outX, double[] outY) {
+        for (int k = from; k < to; k++) {
+            outX[k - from] = sample(flowX, xs[k], ys[k]);
+            outY[k - from] = sample(flowY, xs[k], ys[k]);
+        }
     }
 
     public double sampleTemperature(double worldX, double worldY) {
+        return sample(heat, worldX, worldY);
+    }
+
+    /**
+     * Samples one array of cell values at a world position, blending the
+     * four nearest cell centers or, with interpolation off, taking the
+     * containing cell's value.
+     */
+    private double sample(double[] values, double worldX, double worldY) {
+        if (!interpolated) {
+            return values[cellOf(worldX, worldY)];
+        }
+        double gx = Math.clamp(worldX / cellSizeX - 0.5, 0, cellsX - 1);
+        double gy = Math.clamp(worldY / cellSizeY - 0.5, 0, cellsY - 1);
+        int x0 = (int) gx;
+        int y0 = (int) gy;
+        int dx = x0 + 1 < cellsX ? cellsY : 0;
+        int dy = y0 + 1 < cellsY ? 1 : 0;
+        return blend(values, x0 * cellsY + y0, dx, dy, gx - x0, gy - y0);
+    }
+
+    /**
+     * Gets the flat index of the cell containing a position, clamped into
+     * the field.
+     */
+    private int cellOf(double worldX, double worldY) {
         int cx = clamp((int) (worldX / cellSizeX), 0, cellsX - 1);
         int cy = clamp((int) (worldY / cellSizeY), 0, cellsY - 1);
-        return field[cx][cy].temperature;
+        return cx * cellsY + cy;
+    }
+
+    /**
+     * Blends the values of cell {@code c00}, its neighbors {@code dx} and
+     * {@code dy} entries further, and the diagonal one, by the fractional
+     * offsets.
+     */
+    private static double blend(double[] values, int c00, int dx, int dy, double fx, double fy) {
+        double top = values[c00] + (values[c00 + dx] - values[c00]) * fx;
+        double bottom = values[c00 + dy] + (values[c00 + dx + dy] - values[c00 + dy]) * fx;
+        return top + (bottom - top) * fy;
     }
 
-    public VectorCell[][] getCells() {
-        return field;
+    /**
+     * Copies the current cell values, e.g. for a frame snapshot.
+     */
+    public VectorCell[][] copyCells() {
+        VectorCell[][] copy = new VectorCell[cellsX][cellsY];
+        for (int x = 0; x < cellsX; x++) {
+            for (int y = 0; y < cellsY; y++) {
+                int c = x * cellsY + y;
+                VectorCell cell = new VectorCell();
+                cell.vx = flowX[c];
+                cell.vy = flowY[c];
+                cell.temperature = heat[c];
+                copy[x][y] = cell;
+            }
+        }
+        return copy;
     }
     
     public double getCellWidth() {
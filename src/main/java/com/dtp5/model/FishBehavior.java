@@ -0,0 +1,288 @@
+package com.dtp5.model;
+
+import com.dtp5.config.SimulationConfig;
+
+/**
+ * Boids-style steering for fish stored in a {@link FishStore}.
+ * <p>
+ * Behaviors are applied in priority order: walls, sharks, obstacles, crowding
+ * and finally schooling alignment. Only the first behavior that triggers
+ * steers the fish on a given tick. Sharks, obstacles and plankton are found
+ * through the {@link WorldIndex} layers rather than by scanning their lists.
+ * <p>
+ * Crowding and schooling only look at the fish's
+ * {@link FishSpecies#getSchoolingNeighbors() k nearest} neighbors within its
+ * perception range, so the steering work per fish is bounded however tightly
+ * a school packs.
+ * <p>
+ * Every fish reads its own and its neighbors' state from the store's current
+ * buffers and writes its result to the next-frame buffers, so the outcome
+ * does not depend on the order in which fish are updated. Feeding is only
+ * recorded here (see {@link FishStore#feedPatch(int)}) and resolved
+ * sequentially by the caller, since plankton biomass is shared.
+ * <p>
+ * Instances hold reusable neighbor buffers, so neighbor queries do not
+ * allocate, and are not thread-safe; use one per worker.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public final class FishBehavior {
+
+    // Nearest neighbors of the fish being updated, reused across updates
+    private final SpatialIndex.Nearest neighbors = new SpatialIndex.Nearest();
+
+    // Plankton candidates gathered from the world index
+    private final SpatialIndex.Neighbors patches = new SpatialIndex.Neighbors();
+
+    // Current at each fish of the range being updated, or at the one fish
+    private double[] currentX = new double[64];
+    private double[] currentY = new double[64];
+    private final double[] current = new double[2];
+
+    /**
+     * Main update - applies all behaviors in priority order, then moves the
+     * fish, burns energy and picks the plankton patch it will feed from.
+     * Queries the nearest neighbors within the species perception range
+     * from the spatial index into this behavior's own buffer.
+     *
+     * @param fish        Fish storage
+     * @param i           Index of the fish to update
+     * @param index       Fish spatial index built from the current buffers
+     * @param world       Index of sharks, obstacles and plankton; feed patch
+     *                    indices refer to its plankton layer
+     * @param energyDecay Energy the fish burns this tick
+     */
+    public void update(FishStore fish, int i, SpatialIndex index, WorldIndex world, EnvironmentalField field,
+            double width, double height, double energyDecay) {
+        FishSpecies s = fish.species(i);
+        index.gatherNearest(fish, fish.posX[i], fish.posY[i], s.getMaxDistance(), s.getSchoolingNeighbors(), i,
+                neighbors);
+        field.sampleVector(fish.posX[i], fish.posY[i], current);
+        update(fish, i, world, current[0], current[1], width, height, energyDecay);
+    }
+
+    /**
+     * Main update, taking the nearest neighbors within the species perception
+     * range from cached neighbor lists.
+     *
+     * @param lists Neighbor lists, refreshed for the current buffers
+     */
+    public void update(FishStore fish, int i, VerletLists lists, WorldIndex world, EnvironmentalField field,
+            double width, double height, double energyDecay) {
+        FishSpecies s = fish.species(i);
+        lists.gatherNearest(fish, i, s.getMaxDistance(), s.getSchoolingNeighbors(), neighbors);
+        field.sampleVector(fish.posX[i], fish.posY[i], current);
+        update(fish, i, world, current[0], current[1], width, height, energyDecay);
+    }
+
+    /**
+     * Updates every live fish in slots {@code [from, to)}, as the
+     * single-fish updates would, sampling the current for the whole range in
+     * one batch first.
+     *
+     * @param index Fish spatial index built from the current buffers
+     * @param lists Neighbor lists refreshed for the current buffers, or null
+     *              to query the index
+     */
+    public void updateRange(FishStore fish, int from, int to, SpatialIndex index, VerletLists lists,
+            WorldIndex world, EnvironmentalField field, double width, double height, double energyDecay) {
+        if (currentX.length < to - from) {
+            int capacity = Math.max(to - from, currentX.length * 2);
+            currentX = new double[capacity];
+            currentY = new double[capacity];
+        }
+        field.sampleVectors(fish.posX, fish.posY, from, to, currentX, currentY);
+        for (int i = fish.nextAlive(from); i >= 0 && i < to; i = fish.nextAlive(i + 1)) {
+            FishSpecies s = fish.species(i);
+            if (lists != null) {
+                lists.gatherNearest(fish, i, s.getMaxDistance(), s.getSchoolingNeighbors(), neighbors);
+            } else {
+                index.gatherNearest(fish, fish.posX[i], fish.posY[i], s.getMaxDistance(),
+                        s.getSchoolingNeighbors(), i, neighbors);
+            }
+            update(fish, i, world, currentX[i - from], currentY[i - from], width, height, energyDecay);
+        }
+    }
+
+    /**
+     * The steering kernel: walls, sharks, obstacles, then separation or
+     * alignment, then the current, in one pass over local copies of the
+     * fish's state. Only the first steering behavior that triggers applies,
+     * and the velocity is scaled back to the species speed once after it and
+     * once after the current.
+     */
+    private void update(FishStore fish, int i, WorldIndex world, double flowX, double flowY,
+            double width, double height, double energyDecay) {
+        double x = fish.posX[i];
+        double y = fish.posY[i];
+        double vx = fish.velX[i];
+        double vy = fish.velY[i];
+        FishSpecies species = fish.species(i);
+        double speed = species.speed;
+        double minDist = species.getMinDistance();
+
+        // Walls: hard clamp at the glass plus soft steering close to it
+        boolean turned = false;
+        if (x < 0) {
+            x = 0;
+            vx = Math.abs(vx);
+            turned = true;
+        } else if (x > width) {
+            x = width;
+            vx = -Math.abs(vx);
+            turned = true;
+        }
+        if (y < 0) {
+            y = 0;
+            vy = Math.abs(vy);
+            turned = true;
+        } else if (y > height) {
+            y = height;
+            vy = -Math.abs(vy);
+            turned = true;
+        }
+        double padding = minDist * 2.5;
+        double push = speed * 0.25;
+        if (x < padding) {
+            vx += push;
+            turned = true;
+        } else if (width - x < padding) {
+            vx -= push;
+            turned = true;
+        }
+        if (y < padding) {
+            vy += push;
+            turned = true;
+        } else if (height - y < padding) {
+            vy -= push;
+            turned = true;
+        }
+
+        // Sharks: flee hard from the closest one within 150px
+        if (!turned) {
+            EntityLayer<Shark> sharks = world.sharks;
+            int shark = sharks.nearest(x, y, 150);
+            if (shark >= 0) {
+                double dx = sharks.x(shark) - x;
+                double dy = sharks.y(shark) - y;
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                vx -= dx / distance * speed * 0.8;
+                vy -= dy / distance * speed * 0.8;
+                turned = true;
+            }
+        }
+
+        // Obstacles: steer away from the nearest one when inside its radius.
+        // An obstacle farther than the largest radius cannot contain the
+        // fish, so the search stops there.
+        if (!turned) {
+            EntityLayer<ZoneAEviter> obstacles = world.obstacles;
+            int obstacle = obstacles.nearest(x, y, obstacles.maxExtent());
+            if (obstacle >= 0) {
+                double rayon = obstacles.get(obstacle).rayon;
+                double dx = obstacles.x(obstacle) - x;
+                double dy = obstacles.y(obstacle) - y;
+                double distanceCarre = dx * dx + dy * dy;
+                if (distanceCarre < rayon * rayon) {
+                    double distance = Math.sqrt(distanceCarre);
+                    vx -= dx / distance * speed * 0.5;
+                    vy -= dy / distance * speed * 0.5;
+                    turned = true;
+                }
+            }
+        }
+
+        // Neighbors, nearest first: steer away from the closest one when it
+        // is inside the minimum distance, otherwise blend toward the average
+        // heading of those outside it
+        int count = neighbors.size();
+        if (!turned && count > 0) {
+            double minSq = minDist * minDist;
+            double closestSq = neighbors.distanceSq(0);
+            if (closestSq < minSq) {
+                int closest = neighbors.index(0);
+                double distance = Math.sqrt(closestSq);
+                vx -= (fish.posX[closest] - x) / distance * speed * 0.25;
+                vy -= (fish.posY[closest] - y) / distance * speed * 0.25;
+                turned = true;
+            } else {
+                double vxTotal = 0;
+                double vyTotal = 0;
+                int nbTotal = 0;
+                for (int k = 0; k < count; k++) {
+                    if (neighbors.distanceSq(k) > minSq) {
+                        int j = neighbors.index(k);
+                        vxTotal += fish.velX[j];
+                        vyTotal += fish.velY[j];
+                        nbTotal++;
+                    }
+                }
+                if (nbTotal > 0) {
+                    double strength = species.getSchoolingStrength();
+                    vx = (vxTotal / nbTotal) * strength + vx * (1 - strength);
+                    vy = (vyTotal / nbTotal) * strength + vy * (1 - strength);
+                    turned = true;
+                }
+            }
+        }
+        if (turned) {
+            double lengthSq = vx * vx + vy * vy;
+            if (lengthSq > 0) {
+                double scale = speed / Math.sqrt(lengthSq);
+                vx *= scale;
+                vy *= scale;
+            }
+        }
+
+        // Current, sampled at the fish's position before the wall clamp (the
+        // field takes positions outside the world to its edge anyway)
+        vx += flowX * SimulationConfig.CURRENT_INFLUENCE;
+        vy += flowY * SimulationConfig.CURRENT_INFLUENCE;
+        double lengthSq = vx * vx + vy * vy;
+        if (lengthSq > 0) {
+            double scale = speed / Math.sqrt(lengthSq);
+            vx *= scale;
+            vy *= scale;
+        }
+
+        // Record the trail, then move
+        fish.recordTrail(i, x, y);
+        x += vx;
+        y += vy;
+
+        fish.nextPosX[i] = x;
+        fish.nextPosY[i] = y;
+        fish.nextVelX[i] = vx;
+        fish.nextVelY[i] = vy;
+
+        fish.energy[i] -= energyDecay;
+        fish.feedPatch[i] = findPlankton(world.plankton, x, y);
+        fish.workload[i] = neighbors.scanned();
+    }
+
+    /**
+     * Finds the first (lowest index) plankton patch whose feeding radius
+     * contains the fish.
+     *
+     * @return Patch index, or -1 if the fish is not over any patch
+     */
+    private int findPlankton(EntityLayer<PlanktonPatch> planktons, double x, double y) {
+        int count = planktons.gatherWithin(x, y, planktons.maxExtent(), patches);
+        int[] candidates = patches.indices();
+        int found = -1;
+        for (int k = 0; k < count; k++) {
+            int p = candidates[k];
+            if (found >= 0 && p > found) {
+                continue;
+            }
+            double r = planktons.get(p).getRadius();
+            double dx = planktons.x(p) - x;
+            double dy = planktons.y(p) - y;
+            if (dx * dx + dy * dy < r * r) {
+                found = p;
+            }
+        }
+        return found;
+    }
+}
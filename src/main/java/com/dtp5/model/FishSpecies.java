@@ -1,6 +1,7 @@
 package com.dtp5.model;
 
 import java.awt.Color;
+import java.util.Arrays;
 
 /**
  * Defines different fish species with unique characteristics.
@@ -67,6 +68,18 @@ public enum FishSpecies {
                     new Color(30, 144, 255)// Dodger Blue
             });
 
+    /** Fastest cruising speed of any species, i.e. the most a fish moves per tick */
+    public static final double MAX_SPEED = Arrays.stream(values())
+            .mapToDouble(s -> s.speed).max().orElse(0);
+
+    /**
+     * Farthest a fish can be, after the fish phase, from the position the
+     * fish index still holds for it: its speed, plus as much again when
+     * clamped at a wall. Index queries made after the fish phase pad their
+     * radius by this.
+     */
+    public static final double MAX_INDEX_LAG = 2 * MAX_SPEED;
+
     public final String name;
     public final int bodyLength;
     public final int bodyWidth;
@@ -87,7 +100,7 @@ public enum FishSpecies {
     /**
      * Get a random color for this species.
      */
-    public Color getRandomColor(java.util.Random random) {
+    public Color getRandomColor(java.util.random.RandomGenerator random) {
         return colors[random.nextInt(colors.length)];
     }
 
@@ -104,6 +117,22 @@ public enum FishSpecies {
         };
     }
 
+    /**
+     * Get the number of nearest neighbors a fish of this species keeps track
+     * of when schooling. Schooling fish react to a fixed number of neighbors
+     * rather than to everyone in range, so a dense school costs no more per
+     * fish than a loose one.
+     */
+    public int getSchoolingNeighbors() {
+        return switch (this) {
+            case SMALL_FISH -> 7; // Tight schools, like starling flocks
+            case MEDIUM_FISH -> 6;
+            case LARGE_FISH -> 3; // Mostly solitary
+            case TROPICAL_FISH -> 5;
+            case FAST_FISH -> 5;
+        };
+    }
+
     /**
      * Get minimum distance kept from other fish.
      */
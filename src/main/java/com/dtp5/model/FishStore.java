@@ -0,0 +1,605 @@
+package com.dtp5.model;
+
+import com.dtp5.config.SimulationConfig;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Structure-of-arrays storage for the fish population.
+ * <p>
+ * Each fish is an index into a set of parallel primitive arrays instead of a
+ * heap object, so the boid loop walks contiguous memory and spawning a fish
+ * does not allocate per-fish state.
+ * <p>
+ * Position and velocity are double-buffered: the fish update reads the
+ * current buffers (last frame's state) and writes the next buffers, which
+ * become current on {@link #swapBuffers()} at the frame boundary. Neighbor
+ * reads therefore never observe a half-updated frame.
+ * <p>
+ * Fish live in slots {@code [0, slotCount())}. A bitmap marks which slots
+ * hold a live fish and a free list recycles slots of dead ones, so spawning
+ * and killing a fish are O(1) and never move other fish. Iterate live fish
+ * with {@link #nextAlive(int)}. Slot indices are stable until the next
+ * {@link #compact()} or {@link #sortByCell(double)} call, which pack the
+ * live fish to the front. Code that must follow one fish across those
+ * calls should hold its {@link #id(int)}, which never changes.
+ * <p>
+ * Spawns reuse free slots wherever they are, and fish swim away from
+ * where they were spawned, so over time memory order stops matching
+ * spatial order. {@link #sortByCell(double)} restores it by packing the
+ * fish in Morton (Z-curve) order of their grid cell: fish in the same or
+ * nearby cells then sit in nearby slots, and neighbor scans read
+ * contiguous memory. {@link #cellDisorder(double)} measures how far the
+ * store has drifted from that order.
+ * <p>
+ * Each fish's trail (its last {@link SimulationConfig#TRAIL_LENGTH}
+ * positions) is a ring buffer in one shared {@code float} arena: slot
+ * {@code i} owns entries {@code [i * trailCapacity, (i + 1) * trailCapacity)},
+ * so recording a point overwrites the oldest one in place.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public class FishStore {
+
+    private static final FishSpecies[] SPECIES = FishSpecies.values();
+
+    /** Number of live fish */
+    private int size;
+
+    /** Number of slots in use (live or free), i.e. the iteration bound */
+    private int slotCount;
+
+    /** One bit per slot, set when the slot holds a live fish */
+    private long[] aliveBits;
+
+    /** Stack of free slot indices below {@link #slotCount} */
+    private int[] freeSlots;
+    private int freeCount;
+
+    // Hot simulation state, accessed directly by the fish kernel
+    double[] posX;
+    double[] posY;
+    double[] velX;
+    double[] velY;
+    double[] energy;
+    byte[] species;
+
+    // Next-frame position and velocity, written by the fish kernel
+    double[] nextPosX;
+    double[] nextPosY;
+    double[] nextVelX;
+    double[] nextVelY;
+
+    /** Plankton patch each fish will feed from this frame, or -1 */
+    int[] feedPatch;
+
+    /** Neighbor candidates each fish visited last frame (cost estimate) */
+    int[] workload;
+
+    /** Bumped whenever fish move to other slots */
+    private int layoutVersion;
+
+    /** Stable fish ids, which survive compaction and sorting */
+    private long[] ids;
+    private long nextId;
+
+    // Scratch for sortByCell: (cell key, slot) pairs, then the slot order
+    private long[] sortKeys = new long[0];
+    private int[] sortOrder = new int[0];
+
+    // Scratch for sortByCell, one array per element type: each gather fills
+    // the scratch, which becomes the field while the field becomes the scratch
+    private double[] spareDoubles = new double[0];
+    private int[] spareInts = new int[0];
+    private long[] spareLongs = new long[0];
+    private byte[] spareBytes = new byte[0];
+    private float[] spareTrail = new float[0];
+
+    // Cold visual state
+    private byte[] colorIndex;
+
+    /** Points kept per trail */
+    private final int trailCapacity = Math.max(0, SimulationConfig.TRAIL_LENGTH);
+
+    // Trail arena, and per slot the ring position of the newest point and
+    // the number of points recorded
+    private float[] trailX;
+    private float[] trailY;
+    private int[] trailHead;
+    private int[] trailLength;
+
+    /** Random for species and color selection */
+    private final RandomGenerator random;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param initialCapacity Number of fish to allocate room for up front
+     */
+    public FishStore(int initialCapacity) {
+        this(initialCapacity, new SplittableRandom());
+    }
+
+    /**
+     * Creates an empty store that draws species and colors from the given
+     * generator.
+     *
+     * @param initialCapacity Number of fish to allocate room for up front
+     * @param random          Generator for species and color selection
+     */
+    public FishStore(int initialCapacity, RandomGenerator random) {
+        this.random = random;
+        allocate(Math.max(16, initialCapacity));
+    }
+
+    private void allocate(int capacity) {
+        posX = new double[capacity];
+        posY = new double[capacity];
+        velX = new double[capacity];
+        velY = new double[capacity];
+        nextPosX = new double[capacity];
+        nextPosY = new double[capacity];
+        nextVelX = new double[capacity];
+        nextVelY = new double[capacity];
+        feedPatch = new int[capacity];
+        workload = new int[capacity];
+        ids = new long[capacity];
+        energy = new double[capacity];
+        species = new byte[capacity];
+        aliveBits = new long[(capacity + 63) >>> 6];
+        freeSlots = new int[capacity];
+        colorIndex = new byte[capacity];
+        trailX = new float[capacity * trailCapacity];
+        trailY = new float[capacity * trailCapacity];
+        trailHead = new int[capacity];
+        trailLength = new int[capacity];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= posX.length) {
+            return;
+        }
+        int capacity = Math.max(required, posX.length * 2);
+        posX = Arrays.copyOf(posX, capacity);
+        posY = Arrays.copyOf(posY, capacity);
+        velX = Arrays.copyOf(velX, capacity);
+        velY = Arrays.copyOf(velY, capacity);
+        nextPosX = Arrays.copyOf(nextPosX, capacity);
+        nextPosY = Arrays.copyOf(nextPosY, capacity);
+        nextVelX = Arrays.copyOf(nextVelX, capacity);
+        nextVelY = Arrays.copyOf(nextVelY, capacity);
+        feedPatch = Arrays.copyOf(feedPatch, capacity);
+        workload = Arrays.copyOf(workload, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        energy = Arrays.copyOf(energy, capacity);
+        species = Arrays.copyOf(species, capacity);
+        aliveBits = Arrays.copyOf(aliveBits, (capacity + 63) >>> 6);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        colorIndex = Arrays.copyOf(colorIndex, capacity);
+        trailX = Arrays.copyOf(trailX, capacity * trailCapacity);
+        trailY = Arrays.copyOf(trailY, capacity * trailCapacity);
+        trailHead = Arrays.copyOf(trailHead, capacity);
+        trailLength = Arrays.copyOf(trailLength, capacity);
+    }
+
+    /**
+     * Makes room for at least {@code count} more fish, so a bulk spawn grows
+     * the arrays at most once.
+     */
+    public void reserve(int count) {
+        ensureCapacity(slotCount + Math.max(0, count - freeCount));
+    }
+
+    /**
+     * Adds a fish of a random species.
+     *
+     * @return Index of the new fish
+     */
+    public int add(double x, double y, double direction) {
+        return add(x, y, direction, SPECIES[random.nextInt(SPECIES.length)]);
+    }
+
+    /**
+     * Adds a fish of the given species heading in the given direction,
+     * reusing the most recently freed slot if there is one.
+     *
+     * @return Index of the new fish
+     */
+    public int add(double x, double y, double direction, FishSpecies fishSpecies) {
+        int i;
+        if (freeCount > 0) {
+            i = freeSlots[--freeCount];
+        } else {
+            ensureCapacity(slotCount + 1);
+            i = slotCount++;
+        }
+        size++;
+        aliveBits[i >>> 6] |= 1L << i;
+        posX[i] = x;
+        posY[i] = y;
+        velX[i] = Math.cos(direction) * fishSpecies.speed;
+        velY[i] = Math.sin(direction) * fishSpecies.speed;
+        energy[i] = SimulationConfig.BASE_ENERGY;
+        species[i] = (byte) fishSpecies.ordinal();
+        workload[i] = 0;
+        ids[i] = nextId++;
+        colorIndex[i] = (byte) random.nextInt(fishSpecies.colors.length);
+        trailHead[i] = 0;
+        trailLength[i] = 0;
+        return i;
+    }
+
+    /**
+     * Makes the next-frame buffers current. Call once every fish has been
+     * updated for the frame.
+     */
+    public void swapBuffers() {
+        double[] t = posX;
+        posX = nextPosX;
+        nextPosX = t;
+        t = posY;
+        posY = nextPosY;
+        nextPosY = t;
+        t = velX;
+        velX = nextVelX;
+        nextVelX = t;
+        t = velY;
+        velY = nextVelY;
+        nextVelY = t;
+    }
+
+    /**
+     * Packs all live fish into slots {@code [0, size())}, preserving their
+     * relative order, and empties the free list. Invalidates every slot
+     * index held outside the store.
+     *
+     * @return Number of free slots that were reclaimed
+     */
+    public int compact() {
+        int write = 0;
+        for (int read = nextAlive(0); read >= 0; read = nextAlive(read + 1)) {
+            if (write != read) {
+                posX[write] = posX[read];
+                posY[write] = posY[read];
+                velX[write] = velX[read];
+                velY[write] = velY[read];
+                energy[write] = energy[read];
+                species[write] = species[read];
+                workload[write] = workload[read];
+                ids[write] = ids[read];
+                colorIndex[write] = colorIndex[read];
+                System.arraycopy(trailX, read * trailCapacity, trailX, write * trailCapacity, trailCapacity);
+                System.arraycopy(trailY, read * trailCapacity, trailY, write * trailCapacity, trailCapacity);
+                trailHead[write] = trailHead[read];
+                trailLength[write] = trailLength[read];
+            }
+            write++;
+        }
+        int reclaimed = slotCount - write;
+        markPacked(write);
+        return reclaimed;
+    }
+
+    /**
+     * Marks slots {@code [0, count)} live and every other slot free, with an
+     * empty free list.
+     */
+    private void markPacked(int count) {
+        Arrays.fill(aliveBits, 0L);
+        for (int w = 0; w < (count >>> 6); w++) {
+            aliveBits[w] = -1L;
+        }
+        if ((count & 63) != 0) {
+            aliveBits[count >>> 6] = (1L << count) - 1;
+        }
+        slotCount = count;
+        freeCount = 0;
+        layoutVersion++;
+    }
+
+    /**
+     * Packs all live fish into slots {@code [0, size())} ordered by the
+     * Morton code of their grid cell, keeping slot order among fish of the
+     * same cell. Like {@link #compact()}, this invalidates every slot index
+     * held outside the store; ids are carried along.
+     *
+     * @param cellSize Grid cell size in pixels
+     */
+    public void sortByCell(double cellSize) {
+        if (sortKeys.length < size) {
+            sortKeys = new long[posX.length];
+            sortOrder = new int[posX.length];
+        }
+        int n = 0;
+        for (int i = nextAlive(0); i >= 0; i = nextAlive(i + 1)) {
+            sortKeys[n++] = ((long) cellKey(posX[i], posY[i], cellSize) << 32) | i;
+        }
+        Arrays.sort(sortKeys, 0, n);
+        for (int k = 0; k < n; k++) {
+            sortOrder[k] = (int) sortKeys[k];
+        }
+
+        posX = gather(posX, n);
+        posY = gather(posY, n);
+        velX = gather(velX, n);
+        velY = gather(velY, n);
+        energy = gather(energy, n);
+        workload = gather(workload, n);
+        species = gather(species, n);
+        colorIndex = gather(colorIndex, n);
+        ids = gather(ids, n);
+        trailX = gatherTrails(trailX, n);
+        trailY = gatherTrails(trailY, n);
+        trailHead = gather(trailHead, n);
+        trailLength = gather(trailLength, n);
+        markPacked(n);
+    }
+
+    /**
+     * Measures how far slot order has drifted from cell order: the share of
+     * consecutive live fish whose Morton cell code decreases. It is 0 right
+     * after {@link #sortByCell(double)} and tends towards 0.5 for a random
+     * order.
+     *
+     * @param cellSize Grid cell size in pixels
+     */
+    public double cellDisorder(double cellSize) {
+        int pairs = 0;
+        int inversions = 0;
+        long previous = -1;
+        for (int i = nextAlive(0); i >= 0; i = nextAlive(i + 1)) {
+            long key = cellKey(posX[i], posY[i], cellSize);
+            if (previous >= 0) {
+                pairs++;
+                if (key < previous) {
+                    inversions++;
+                }
+            }
+            previous = key;
+        }
+        return pairs == 0 ? 0 : (double) inversions / pairs;
+    }
+
+    /**
+     * Gets the Morton code of the cell containing a position: the bits of
+     * the cell column and row, interleaved. Positions off the map are
+     * clamped to the nearest cell.
+     */
+    static long cellKey(double x, double y, double cellSize) {
+        return spreadBits(Math.clamp((long) (x / cellSize), 0, 0xFFFF))
+                | spreadBits(Math.clamp((long) (y / cellSize), 0, 0xFFFF)) << 1;
+    }
+
+    /** Spreads the low 16 bits of a value over the even bits. */
+    private static long spreadBits(long v) {
+        v = (v | (v << 8)) & 0x00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0FL;
+        v = (v | (v << 2)) & 0x33333333L;
+        v = (v | (v << 1)) & 0x55555555L;
+        return v;
+    }
+
+    private double[] gather(double[] source, int n) {
+        double[] target = spareDoubles.length == source.length ? spareDoubles : new double[source.length];
+        for (int k = 0; k < n; k++) {
+            target[k] = source[sortOrder[k]];
+        }
+        spareDoubles = source;
+        return target;
+    }
+
+    private int[] gather(int[] source, int n) {
+        int[] target = spareInts.length == source.length ? spareInts : new int[source.length];
+        for (int k = 0; k < n; k++) {
+            target[k] = source[sortOrder[k]];
+        }
+        spareInts = source;
+        return target;
+    }
+
+    private long[] gather(long[] source, int n) {
+        long[] target = spareLongs.length == source.length ? spareLongs : new long[source.length];
+        for (int k = 0; k < n; k++) {
+            target[k] = source[sortOrder[k]];
+        }
+        spareLongs = source;
+        return target;
+    }
+
+    private byte[] gather(byte[] source, int n) {
+        byte[] target = spareBytes.length == source.length ? spareBytes : new byte[source.length];
+        for (int k = 0; k < n; k++) {
+            target[k] = source[sortOrder[k]];
+        }
+        spareBytes = source;
+        return target;
+    }
+
+    private float[] gatherTrails(float[] source, int n) {
+        float[] target = spareTrail.length == source.length ? spareTrail : new float[source.length];
+        for (int k = 0; k < n; k++) {
+            System.arraycopy(source, sortOrder[k] * trailCapacity, target, k * trailCapacity, trailCapacity);
+        }
+        spareTrail = source;
+        return target;
+    }
+
+    /**
+     * Gets the number of live fish.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of slots in use, live or free. Every live fish has an
+     * index below this bound.
+     */
+    public int slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Gets a counter that changes whenever fish move to other slots
+     * ({@link #compact()}, {@link #sortByCell(double)}). Adding or killing a
+     * fish leaves it unchanged. Caches keyed by slot index are valid as long
+     * as it stays the same, provided they skip dead slots and check
+     * {@link #id(int)} to tell a fish spawned into a reused slot.
+     */
+    public int layoutVersion() {
+        return layoutVersion;
+    }
+
+    /**
+     * Gets the number of free slots waiting to be reused.
+     */
+    public int freeCount() {
+        return freeCount;
+    }
+
+    /**
+     * Finds the first live fish at or after the given slot.
+     *
+     * @return Slot index, or -1 if there is none
+     */
+    public int nextAlive(int from) {
+        if (from >= slotCount) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word = aliveBits[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(word);
+                return i < slotCount ? i : -1;
+            }
+            if (++w >= (slotCount + 63) >>> 6) {
+                return -1;
+            }
+            word = aliveBits[w];
+        }
+    }
+
+    public double x(int i) {
+        return posX[i];
+    }
+
+    public double y(int i) {
+        return posY[i];
+    }
+
+    public double vx(int i) {
+        return velX[i];
+    }
+
+    public double vy(int i) {
+        return velY[i];
+    }
+
+    public double energy(int i) {
+        return energy[i];
+    }
+
+    public boolean isAlive(int i) {
+        return i < slotCount && (aliveBits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Removes a fish by freeing its slot. Its last state stays readable
+     * until the slot is reused by {@link #add}.
+     */
+    public void kill(int i) {
+        if (!isAlive(i)) {
+            return;
+        }
+        aliveBits[i >>> 6] &= ~(1L << i);
+        freeSlots[freeCount++] = i;
+        size--;
+    }
+
+    public FishSpecies species(int i) {
+        return SPECIES[species[i]];
+    }
+
+    public Color color(int i) {
+        return species(i).colors[colorIndex[i]];
+    }
+
+    /**
+     * Gets the plankton patch a fish chose to feed from during the last
+     * update, or -1.
+     */
+    public int feedPatch(int i) {
+        return feedPatch[i];
+    }
+
+    /**
+     * Gets the number of neighbor candidates a fish visited during its last
+     * update, used to balance parallel work.
+     */
+    public int workload(int i) {
+        return workload[i];
+    }
+
+    /**
+     * Records a position at the head of a fish's trail, dropping the oldest
+     * point once the trail is full.
+     */
+    void recordTrail(int i, double x, double y) {
+        if (trailCapacity == 0) {
+            return;
+        }
+        int head = trailHead[i] + 1;
+        if (head == trailCapacity) {
+            head = 0;
+        }
+        trailHead[i] = head;
+        trailX[i * trailCapacity + head] = (float) x;
+        trailY[i * trailCapacity + head] = (float) y;
+        if (trailLength[i] < trailCapacity) {
+            trailLength[i]++;
+        }
+    }
+
+    /**
+     * Gets the number of recorded trail points of a fish, at most
+     * {@link SimulationConfig#TRAIL_LENGTH}.
+     */
+    public int trailLength(int i) {
+        return trailLength[i];
+    }
+
+    /**
+     * Gets the X coordinate of the k-th trail point of a fish (0 = newest).
+     */
+    public double trailX(int i, int k) {
+        return trailX[trailIndex(i, k)];
+    }
+
+    /**
+     * Gets the Y coordinate of the k-th trail point of a fish (0 = newest).
+     */
+    public double trailY(int i, int k) {
+        return trailY[trailIndex(i, k)];
+    }
+
+    private int trailIndex(int i, int k) {
+        int at = trailHead[i] - k;
+        if (at < 0) {
+            at += trailCapacity;
+        }
+        return i * trailCapacity + at;
+    }
+
+    /**
+     * Gets the id of the fish in a slot. Ids are assigned in spawn order and
+     * never reused or changed, unlike slot indices.
+     */
+    public long id(int i) {
+        return ids[i];
+    }
+}
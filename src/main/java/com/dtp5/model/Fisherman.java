@@ -4,6 +4,9 @@ package com.dtp5.model;
  * Represents a fisherman's hook dropping into the ocean.
  */
 public class Fisherman {
+    /** Radius of the hook's catch zone in pixels */
+    public static final double CATCH_RADIUS = 20.0;
+
     public double posX;
     public double posY;
     public boolean isFishing;
@@ -18,6 +21,15 @@ public class Fisherman {
         this.movingDown = true;
     }
 
+    public Fisherman(Fisherman other) {
+        this.posX = other.posX;
+        this.posY = other.posY;
+        this.isFishing = other.isFishing;
+        this.movingDown = other.movingDown;
+        this.speed = other.speed;
+        this.maxY = other.maxY;
+    }
+
     public void startFishing(double x, double depth) {
         this.posX = x;
         this.posY = 0;
@@ -44,11 +56,15 @@ public class Fisherman {
     }
 
     public boolean checkCatch(Poisson p) {
+        return checkCatch(p.posX, p.posY);
+    }
+
+    public boolean checkCatch(double x, double y) {
         if (!isFishing)
             return false;
         // Simple circle collision for hook
-        double dx = p.posX - posX;
-        double dy = p.posY - posY;
-        return (dx * dx + dy * dy) < 400; // 20px radius catch zone
+        double dx = x - posX;
+        double dy = y - posY;
+        return (dx * dx + dy * dy) < CATCH_RADIUS * CATCH_RADIUS;
     }
 }
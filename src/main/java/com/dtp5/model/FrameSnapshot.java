@@ -0,0 +1,242 @@
+package com.dtp5.model;
+
+import com.dtp5.particle.Particle;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable copy of everything the renderer needs to draw one frame.
+ * <p>
+ * Captured on the simulation thread at the end of a tick (see
+ * {@link Ocean#snapshot()}), so the UI can draw frame N while the simulation
+ * is already computing frame N+1. Nothing here aliases live simulation
+ * state: fish are copied into flat arrays, and the handful of other
+ * creatures and props are copied entity by entity.
+ * <p>
+ * Fish trails are flattened: the trail of fish {@code i} is stored in
+ * {@link #trailX}/{@link #trailY} from {@code trailStart[i]} (inclusive) to
+ * {@code trailStart[i + 1]} (exclusive), newest point first.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public final class FrameSnapshot {
+
+    private static final FishSpecies[] SPECIES = FishSpecies.values();
+
+    /** Simulation frame this snapshot was taken after */
+    public final long frameCount;
+
+    /** Ocean size at capture time */
+    public final double width;
+    public final double height;
+
+    // Display flags
+    public final boolean showCurrents;
+    public final boolean showPlankton;
+    public final boolean dayNightEnabled;
+    public final boolean particlesEnabled;
+
+    // Fish
+    public final int fishCount;
+    private final double[] fishX;
+    private final double[] fishY;
+    private final double[] fishVx;
+    private final double[] fishVy;
+    private final byte[] fishSpecies;
+    private final Color[] fishColor;
+    private final int[] trailStart;
+    private final double[] trailX;
+    private final double[] trailY;
+
+    // Other creatures and props (copies)
+    public final List<Shark> sharks;
+    public final List<Jellyfish> jellyfish;
+    public final List<SeaTurtle> seaTurtles;
+    public final List<ZoneAEviter> obstacles;
+    public final List<PlanktonPatch> planktons;
+    public final List<Rock> rocks;
+    public final List<Algae> algae;
+    public final List<Coral> corals;
+    public final Fisherman fisherman;
+    private final Particle[] particles;
+
+    // Environment
+    public final DayNightCycle dayNightCycle;
+    private final EnvironmentalField.VectorCell[][] fieldCells;
+    public final double fieldCellWidth;
+    public final double fieldCellHeight;
+
+    // Statistics
+    public final long births;
+    public final long deaths;
+    public final double avgEnergy;
+
+    /**
+     * Captures the current state of an ocean. Must be called on the thread
+     * that runs {@link Ocean#updateOcean()}, between ticks.
+     */
+    FrameSnapshot(Ocean ocean) {
+        this.frameCount = ocean.getFrameCount();
+        this.width = ocean.getWidth();
+        this.height = ocean.getHeight();
+
+        this.showCurrents = ocean.showCurrents;
+        this.showPlankton = ocean.showPlankton;
+        this.dayNightEnabled = ocean.dayNightEnabled;
+        this.particlesEnabled = ocean.particlesEnabled;
+
+        // Live fish are packed densely in slot order
+        FishStore fish = ocean.fish;
+        int n = fish.size();
+        this.fishCount = n;
+        this.fishX = new double[n];
+        this.fishY = new double[n];
+        this.fishVx = new double[n];
+        this.fishVy = new double[n];
+        this.fishSpecies = new byte[n];
+        this.fishColor = new Color[n];
+        this.trailStart = new int[n + 1];
+        int[] slot = new int[n];
+        int k = 0;
+        for (int i = fish.nextAlive(0); i >= 0; i = fish.nextAlive(i + 1)) {
+            slot[k] = i;
+            fishX[k] = fish.posX[i];
+            fishY[k] = fish.posY[i];
+            fishVx[k] = fish.velX[i];
+            fishVy[k] = fish.velY[i];
+            fishSpecies[k] = fish.species[i];
+            fishColor[k] = fish.color(i);
+            trailStart[k + 1] = trailStart[k] + fish.trailLength(i);
+            k++;
+        }
+        this.trailX = new double[trailStart[n]];
+        this.trailY = new double[trailStart[n]];
+        for (int j = 0; j < n; j++) {
+            int t = trailStart[j];
+            for (int m = 0; m < fish.trailLength(slot[j]); m++, t++) {
+                trailX[t] = fish.trailX(slot[j], m);
+                trailY[t] = fish.trailY(slot[j], m);
+            }
+        }
+
+        this.sharks = copy(ocean.sharks.stream().map(Shark::new).toList());
+        this.jellyfish = copy(ocean.jellyfish.stream().map(Jellyfish::new).toList());
+        this.seaTurtles = copy(ocean.seaTurtles.stream().map(SeaTurtle::new).toList());
+        this.obstacles = copy(ocean.obstacles.stream().map(ZoneAEviter::new).toList());
+        this.planktons = copy(ocean.planktons.stream().map(PlanktonPatch::new).toList());
+        this.rocks = copy(ocean.rocks); // Rocks never change after creation
+        this.algae = copy(ocean.algae.stream().map(Algae::new).toList());
+        this.corals = copy(ocean.corals.stream().map(Coral::new).toList());
+        this.fisherman = new Fisherman(ocean.fisherman);
+        this.particles = ocean.particlesEnabled ? ocean.particleSystem.copyActive() : new Particle[0];
+
+        this.dayNightCycle = new DayNightCycle(ocean.dayNightCycle);
+        this.fieldCells = ocean.environmentalField.copyCells();
+        this.fieldCellWidth = ocean.environmentalField.getCellWidth();
+        this.fieldCellHeight = ocean.environmentalField.getCellHeight();
+
+        this.births = ocean.stats.getBirths();
+        this.deaths = ocean.stats.getDeaths();
+        this.avgEnergy = ocean.stats.getAvgEnergy();
+    }
+
+    private static <T> List<T> copy(List<T> list) {
+        return Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    // ==================== FISH ====================
+
+    public double fishX(int i) {
+        return fishX[i];
+    }
+
+    public double fishY(int i) {
+        return fishY[i];
+    }
+
+    public double fishVx(int i) {
+        return fishVx[i];
+    }
+
+    public double fishVy(int i) {
+        return fishVy[i];
+    }
+
+    public FishSpecies fishSpecies(int i) {
+        return SPECIES[fishSpecies[i]];
+    }
+
+    public Color fishColor(int i) {
+        return fishColor[i];
+    }
+
+    /**
+     * Gets the number of recorded trail points of a fish.
+     */
+    public int trailLength(int i) {
+        return trailStart[i + 1] - trailStart[i];
+    }
+
+    /**
+     * Gets the X coordinate of the k-th trail point of a fish (0 = newest).
+     */
+    public double trailX(int i, int k) {
+        return trailX[trailStart[i] + k];
+    }
+
+    /**
+     * Gets the Y coordinate of the k-th trail point of a fish (0 = newest).
+     */
+    public double trailY(int i, int k) {
+        return trailY[trailStart[i] + k];
+    }
+
+    // ==================== ENVIRONMENT ====================
+
+    /**
+     * Gets the active particles at capture time.
+     */
+    public List<Particle> particles() {
+        return Collections.unmodifiableList(Arrays.asList(particles));
+    }
+
+    /**
+     * Gets a copy-on-capture view of the environmental field cells. Callers
+     * must not modify the returned cells.
+     */
+    public EnvironmentalField.VectorCell[][] fieldCells() {
+        return fieldCells;
+    }
+
+    /**
+     * Looks up the current vector cell containing a world position, or null
+     * if the position is outside the field.
+     */
+    public EnvironmentalField.VectorCell fieldCellAt(double x, double y) {
+        int cellX = (int) (x / fieldCellWidth);
+        int cellY = (int) (y / fieldCellHeight);
+        if (cellX >= 0 && cellX < fieldCells.length && cellY >= 0 && cellY < fieldCells[0].length) {
+            return fieldCells[cellX][cellY];
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the frame should be drawn with night lighting.
+     */
+    public boolean isNight() {
+        return dayNightEnabled && !dayNightCycle.isDaytime();
+    }
+
+    /**
+     * Gets the light level to render with (1.0 when the cycle is disabled).
+     */
+    public float lightLevel() {
+        return dayNightEnabled ? dayNightCycle.getLightLevel() : 1.0f;
+    }
+}
@@ -1,7 +1,8 @@
 package com.dtp5.model;
 
 import java.awt.Color;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a jellyfish that drifts with currents and glows at night.
@@ -15,6 +16,9 @@ public class Jellyfish extends Entity implements Updatable {
     /** Velocity components */
     private double vx, vy;
 
+    /** Scratch for sampling the current */
+    private final double[] current = new double[2];
+
     /** Pulsation phase for movement */
     private double pulsePhase;
 
@@ -36,9 +40,6 @@ public class Jellyfish extends Entity implements Updatable {
     /** Number of tentacles */
     private final int tentacleCount;
 
-    /** Random for visual variations */
-    private static final Random random = new Random();
-
     /** Color palette for jellyfish */
     private static final Color[] JELLYFISH_COLORS = {
             new Color(255, 100, 150, 180), // Pink
@@ -52,6 +53,14 @@ public class Jellyfish extends Entity implements Updatable {
      * Creates a new jellyfish at the specified position.
      */
     public Jellyfish(double x, double y) {
+        this(x, y, new SplittableRandom());
+    }
+
+    /**
+     * Creates a new jellyfish whose visual variations are drawn from the
+     * given generator.
+     */
+    public Jellyfish(double x, double y, RandomGenerator random) {
         super(x, y);
 
         // Random visual properties
@@ -74,6 +83,22 @@ public class Jellyfish extends Entity implements Updatable {
         this.vy = (random.nextDouble() - 0.5) * 0.3;
     }
 
+    /**
+     * Creates a copy of another jellyfish, e.g. for a frame snapshot.
+     */
+    public Jellyfish(Jellyfish other) {
+        super(other);
+        this.vx = other.vx;
+        this.vy = other.vy;
+        this.pulsePhase = other.pulsePhase;
+        this.pulseSpeed = other.pulseSpeed;
+        this.baseColor = other.baseColor;
+        this.glowColor = other.glowColor;
+        this.bellRadius = other.bellRadius;
+        this.tentacleLength = other.tentacleLength;
+        this.tentacleCount = other.tentacleCount;
+    }
+
     @Override
     public void update(SimulationContext context) {
         // Update pulse animation
@@ -91,9 +116,9 @@ public class Jellyfish extends Entity implements Updatable {
 
         // Apply environmental current
         if (context.environmentalField() != null) {
-            var current = context.environmentalField().sampleVector(posX, posY);
-            vx += current.x * 0.15;
-            vy += current.y * 0.15;
+            context.environmentalField().sampleVector(posX, posY, current);
+            vx += current[0] * 0.15;
+            vy += current[1] * 0.15;
         }
 
         // Apply drag
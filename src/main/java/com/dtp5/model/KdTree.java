@@ -0,0 +1,65 @@
+package com.dtp5.model;
+
+/**
+ * KD-tree over fish positions, bulk-built by median splits: each node
+ * splits its fish in half along the longer side of their bounding box.
+ * <p>
+ * The tree stays balanced whatever the distribution, so every query
+ * descends about {@code log2(n / leafSize)} levels. The median search makes
+ * it the most expensive index to build, and nearest-neighbor queries the
+ * cheapest, since half of every split can be pruned.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public class KdTree extends PointTree {
+
+    @Override
+    void split(int node, int start, int end, double x0, double y0, double x1, double y1) {
+        boolean onX = x1 - x0 >= y1 - y0;
+        int median = (start + end) >>> 1;
+        select(start, end, median, onX);
+        newNode(start, median);
+        newNode(median, end);
+    }
+
+    /**
+     * Rearranges fish {@code [start, end)} so that the one at {@code nth}
+     * is where it would be if they were sorted on the axis, with no larger
+     * coordinate before it and no smaller one after (quickselect).
+     */
+    private void select(int start, int end, int nth, boolean onX) {
+        double[] key = onX ? xs : ys;
+        int lo = start;
+        int hi = end - 1;
+        while (hi > lo) {
+            // Median of three as the pivot keeps sorted runs from degrading
+            int mid = (lo + hi) >>> 1;
+            double a = key[lo];
+            double b = key[mid];
+            double c = key[hi];
+            double pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (key[i] < pivot) {
+                    i++;
+                }
+                while (key[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (nth <= j) {
+                hi = j;
+            } else if (nth >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.dtp5.model;
+
+/**
+ * Distance test at the heart of neighbor queries: which of a run of points
+ * lie strictly within a radius of a position.
+ * <p>
+ * Indices keep fish positions in contiguous coordinate arrays (grid cells,
+ * tree leaves), so the test runs over plain {@code double[]} ranges and can
+ * be computed several points at a time. Two implementations exist:
+ * <ul>
+ * <li>{@link #scalar()} - one point at a time; the reference</li>
+ * <li>{@link #vector()} - SIMD lanes through the incubating Vector API,
+ * available when the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}</li>
+ * </ul>
+ * Both compute each squared distance as {@code dx * dx + dy * dy} in the
+ * same order, so they return exactly the same hits and distances.
+ * Kernels hold no state and may be shared by any number of threads.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public interface NeighborKernel {
+
+    /**
+     * Finds the points {@code [from, to)} strictly closer than
+     * {@code sqrt(maxSq)} to {@code (x, y)}.
+     *
+     * @param hits        Receives the array index of each such point, in
+     *                    order; must hold {@code to - from} entries
+     * @param distancesSq Receives each hit's squared distance; must hold
+     *                    {@code to - from} entries
+     * @return The number of hits
+     */
+    int closerThan(double[] xs, double[] ys, int from, int to, double x, double y, double maxSq,
+            int[] hits, double[] distancesSq);
+
+    /**
+     * Gets the plain Java kernel.
+     */
+    static NeighborKernel scalar() {
+        return ScalarNeighborKernel.INSTANCE;
+    }
+
+    /**
+     * Gets the Vector API kernel.
+     *
+     * @throws UnsupportedOperationException if the JVM was started without
+     *         the {@code jdk.incubator.vector} module
+     */
+    static NeighborKernel vector() {
+        if (!vectorAvailable()) {
+            throw new UnsupportedOperationException(
+                    "Vector kernel needs the JVM option --add-modules jdk.incubator.vector");
+        }
+        return VectorNeighborKernel.INSTANCE;
+    }
+
+    /**
+     * Tells whether the JVM can run the Vector API kernel.
+     */
+    static boolean vectorAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
@@ -0,0 +1,19 @@
+package com.dtp5.model;
+
+/**
+ * Receives neighbor candidates from a {@link SpatialIndex} query, one fish
+ * index at a time, so that queries need not allocate a result array.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+@FunctionalInterface
+public interface NeighborVisitor {
+
+    /**
+     * Called once for every fish in the queried cells.
+     *
+     * @param index Index of the candidate in the {@link FishStore}
+     */
+    void visit(int index);
+}
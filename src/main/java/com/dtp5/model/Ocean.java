@@ -1,5 +1,6 @@
 package com.dtp5.model;
 
+import com.dtp5.config.EcosystemParameters;
 import com.dtp5.config.SimulationConfig;
 import com.dtp5.event.EventBus;
 import com.dtp5.event.FishBornEvent;
@@ -12,12 +13,16 @@ import org.slf4j.LoggerFactory;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Queue;
+import java.util.SplittableRandom;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -25,7 +30,7 @@ import java.util.concurrent.TimeUnit;
  * <p>
  * This is the main simulation class that manages:
  * <ul>
- * <li>Fish (Poisson) with schooling behavior</li>
+ * <li>Fish (stored in a {@link FishStore}) with schooling behavior</li>
  * <li>Predators (Sharks)</li>
  * <li>New creatures (Jellyfish, Sea Turtles)</li>
  * <li>Environmental features (rocks, algae, coral, plankton)</li>
@@ -34,6 +39,17 @@ import java.util.concurrent.TimeUnit;
  * </ul>
  * 
  * Uses multithreading for high-performance updates with thousands of entities.
+ * <p>
+ * All randomness derives from one master seed: every subsystem and every
+ * shark, jellyfish and turtle gets its own {@link SplittableRandom} stream
+ * split from it. The parallel fish phase draws no random numbers at all, so
+ * two oceans built with the same seed evolve bit-identically regardless of
+ * the number of worker threads (as long as they receive the same commands).
+ * <p>
+ * A tick is split into phases that declare which parts of the world they
+ * read and write; a {@link SystemScheduler} runs phases that do not conflict
+ * concurrently on the worker pool, and conflicting ones in their listed
+ * order, so scheduling never changes the outcome.
  * 
  * @author Ocean Ecosystem Team
  * @version 2.0.0
@@ -42,10 +58,13 @@ public class Ocean {
 
     private static final Logger logger = LoggerFactory.getLogger(Ocean.class);
 
+    /** Per-worker steering scratch state */
+    private static final ThreadLocal<FishBehavior> BEHAVIOR = ThreadLocal.withInitial(FishBehavior::new);
+
     // ==================== ENTITIES ====================
 
-    /** Fish array (uses array for performance, resized as needed) */
-    public Poisson[] poissons;
+    /** Fish population (structure-of-arrays storage) */
+    public final FishStore fish;
 
     /** Sharks (thread-safe list) */
     public final List<Shark> sharks;
@@ -91,21 +110,30 @@ public class Ocean {
     // ==================== DISPLAY FLAGS ====================
 
     /** Whether to show current vectors */
-    public boolean showCurrents = true;
+    public volatile boolean showCurrents = true;
 
     /** Whether to show plankton patches */
-    public boolean showPlankton = true;
+    public volatile boolean showPlankton = true;
 
     /** Whether day/night cycle is enabled */
-    public boolean dayNightEnabled = true;
+    public volatile boolean dayNightEnabled = true;
 
     /** Whether particles are enabled */
-    public boolean particlesEnabled = true;
+    public volatile boolean particlesEnabled = true;
 
     // ==================== INTERNAL STATE ====================
 
-    /** Random number generator */
-    protected final Random random;
+    /** Master seed all random streams are derived from */
+    private final long seed;
+
+    /** Ecosystem tuning (energy, reproduction, plankton growth) */
+    private final EcosystemParameters parameters;
+
+    /** Random stream for the sequential parts of the tick and for spawning */
+    protected final SplittableRandom random;
+
+    /** Random stream for ambient bubbles, so the particle phase owns its own */
+    private final SplittableRandom ambientRandom;
 
     /** Ocean width in pixels */
     protected double width;
@@ -113,14 +141,69 @@ public class Ocean {
     /** Ocean height in pixels */
     protected double height;
 
-    /** Spatial partitioning grid for efficient neighbor queries */
-    private SpatialGrid spatialGrid;
+    /** Spatial index of fish for efficient neighbor queries */
+    private SpatialIndex spatialIndex;
+
+    /** Backend {@link #spatialIndex} is built with */
+    private SpatialIndexType spatialIndexType = SpatialIndexType.parse(SimulationConfig.SPATIAL_INDEX);
+
+    /** Schooling neighbor lists reused across ticks, or null to query {@link #spatialIndex} every tick */
+    private VerletLists verletLists = SimulationConfig.VERLET_LISTS
+            ? new VerletLists(SimulationConfig.VERLET_SKIN)
+            : null;
+
+    /** Distance kernel {@link #spatialIndex} runs nearest-neighbor queries with */
+    private NeighborKernel neighborKernel = NeighborKernel.scalar();
+
+    /** Spatial index of sharks, plankton, obstacles, jellyfish and turtles */
+    private WorldIndex worldIndex;
+
+    // Scratch for sampling the current at algae and corals, one per phase
+    // since the two phases may run at once
+    private final double[] algaeCurrent = new double[2];
+    private final double[] coralCurrent = new double[2];
 
-    /** Thread pool for parallel fish updates */
-    private ExecutorService executor;
+    /** Reusable buffer for the fisherman's catch query */
+    private final SpatialIndex.Neighbors catchCandidates = new SpatialIndex.Neighbors();
 
-    /** Number of worker threads */
-    private final int numThreads;
+    /** Work-stealing pool for tick phases and parallel fish updates */
+    private final ForkJoinPool executor;
+
+    /** Whether the pool was created by (and is shut down with) this ocean */
+    private final boolean ownsExecutor;
+
+    /** Runs non-conflicting tick phases concurrently */
+    private final SystemScheduler<Resource> scheduler;
+
+    /** Tick phases, in the order a sequential tick would run them */
+    private final SystemScheduler.Phase<Resource> fieldPhase;
+    private final SystemScheduler.Phase<Resource> dayNightPhase;
+    private final SystemScheduler.Phase<Resource> particlePhase;
+    private final SystemScheduler.Phase<Resource> planktonPhase;
+    private final SystemScheduler.Phase<Resource> algaePhase;
+    private final SystemScheduler.Phase<Resource> coralPhase;
+    private final SystemScheduler.Phase<Resource> obstaclePhase;
+    private final SystemScheduler.Phase<Resource> fishPhase;
+    private final SystemScheduler.Phase<Resource> sharkPhase;
+    private final SystemScheduler.Phase<Resource> jellyfishPhase;
+    private final SystemScheduler.Phase<Resource> turtlePhase;
+    private final SystemScheduler.Phase<Resource> fishermanPhase;
+    private final SystemScheduler.Phase<Resource> populationPhase;
+
+    /** Estimated neighbor visits above which a fish task is split */
+    private volatile long fishSplitThreshold = SimulationConfig.FISH_TASK_SPLIT_COST;
+
+    /** Prefix sums of per-fish cost estimates for the current frame */
+    private long[] fishCostPrefix = new long[0];
+
+    /** Plankton patches seen by the fish update this frame */
+    private PlanktonPatch[] framePatches = new PlanktonPatch[0];
+
+    /** Sharks, obstacles and plankton as of the start of the frame, refilled every frame */
+    private final WorldSnapshot worldSnapshot = new WorldSnapshot();
+
+    /** Context every entity update of the current frame shares */
+    private SimulationContext frameContext;
 
     /** Property change support for UI updates */
     private final PropertyChangeSupport support;
@@ -128,12 +211,18 @@ public class Ocean {
     /** Current frame number */
     private long frameCount = 0;
 
+    /** Frame at which fish slots were last sorted by cell */
+    private long lastCellSortFrame = 0;
+
     /** Event bus for decoupled communication */
     private final EventBus eventBus;
 
     /** Bubble spawn timer */
     private int bubbleTimer = 0;
 
+    /** Commands from other threads, applied at the start of the next tick */
+    private final Queue<Runnable> pendingCommands = new ConcurrentLinkedQueue<>();
+
     // ==================== CONSTRUCTOR ====================
 
     /**
@@ -144,14 +233,67 @@ public class Ocean {
      * @param height           Ocean height in pixels
      */
     public Ocean(int initialFishCount, double width, double height) {
-        logger.info("Initializing ocean: {}x{} with {} fish", width, height, initialFishCount);
+        this(initialFishCount, width, height, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a new ocean whose whole evolution is determined by a seed.
+     * 
+     * @param initialFishCount Number of fish to spawn initially
+     * @param width            Ocean width in pixels
+     * @param height           Ocean height in pixels
+     * @param seed             Master seed for every random stream
+     */
+    public Ocean(int initialFishCount, double width, double height, long seed) {
+        this(initialFishCount, width, height, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a seeded ocean with a given number of worker threads.
+     * 
+     * @param initialFishCount Number of fish to spawn initially
+     * @param width            Ocean width in pixels
+     * @param height           Ocean height in pixels
+     * @param seed             Master seed for every random stream
+     * @param parallelism      Number of worker threads for the fish update
+     */
+    public Ocean(int initialFishCount, double width, double height, long seed, int parallelism) {
+        this(initialFishCount, width, height, seed, EcosystemParameters.DEFAULTS,
+                new ForkJoinPool(Math.max(1, parallelism)), true);
+    }
+
+    /**
+     * Creates a seeded ocean with its own ecosystem parameters that runs its
+     * ticks on a pool shared with other oceans. The pool's parallelism bounds
+     * the CPU used by all of them together; {@link #shutdown()} leaves the
+     * pool running.
+     * 
+     * @param initialFishCount Number of fish to spawn initially
+     * @param width            Ocean width in pixels
+     * @param height           Ocean height in pixels
+     * @param seed             Master seed for every random stream
+     * @param parameters       Ecosystem tuning for this ocean
+     * @param pool             Worker pool owned by the caller
+     */
+    public Ocean(int initialFishCount, double width, double height, long seed,
+            EcosystemParameters parameters, ForkJoinPool pool) {
+        this(initialFishCount, width, height, seed, parameters, pool, false);
+    }
+
+    private Ocean(int initialFishCount, double width, double height, long seed,
+            EcosystemParameters parameters, ForkJoinPool pool, boolean ownsExecutor) {
+        logger.info("Initializing ocean: {}x{} with {} fish (seed {})", width, height, initialFishCount, seed);
 
         this.width = width <= 0 ? SimulationConfig.WINDOW_WIDTH : width;
         this.height = height <= 0 ? SimulationConfig.WINDOW_HEIGHT : height;
-        this.random = new Random();
+        this.seed = seed;
+        this.parameters = parameters;
+        SplittableRandom master = new SplittableRandom(seed);
+        this.random = master.split();
         this.support = new PropertyChangeSupport(this);
         this.eventBus = EventBus.getInstance();
         this.stats = new SimulationStats();
+        this.fish = new FishStore(Math.max(initialFishCount, SimulationConfig.INITIAL_FISH_COUNT), master.split());
 
         // Initialize thread-safe collections
         this.sharks = new CopyOnWriteArrayList<>();
@@ -164,16 +306,66 @@ public class Ocean {
         this.corals = new ArrayList<>();
 
         // Initialize systems
-        this.spatialGrid = new SpatialGrid(this.width, this.height, SimulationConfig.GRID_CELL_SIZE);
-        this.environmentalField = new EnvironmentalField(this.width, this.height);
+        this.spatialIndex = spatialIndexType.create(this.width, this.height);
+        setVectorKernelEnabled(SimulationConfig.VECTOR_KERNEL);
+        this.worldIndex = new WorldIndex(this.width, this.height);
+        this.environmentalField = new EnvironmentalField(this.width, this.height, master.split());
         this.dayNightCycle = new DayNightCycle();
-        this.particleSystem = new ParticleSystem();
+        this.particleSystem = new ParticleSystem(master.split());
+        this.ambientRandom = master.split();
         this.fisherman = new Fisherman(this.width / 2);
 
         // Initialize thread pool
-        this.numThreads = Runtime.getRuntime().availableProcessors();
-        this.executor = Executors.newFixedThreadPool(numThreads);
-        logger.debug("Using {} worker threads", numThreads);
+        this.executor = pool;
+        this.ownsExecutor = ownsExecutor;
+        // On a shared pool every phase must run on the pool so that its
+        // parallelism really bounds CPU use
+        this.scheduler = new SystemScheduler<>(executor, ownsExecutor);
+        logger.debug("Using {} worker threads", pool.getParallelism());
+
+        // Declare tick phases (reads, writes)
+        this.fieldPhase = phase("field",
+                EnumSet.noneOf(Resource.class), EnumSet.of(Resource.FIELD),
+                () -> environmentalField.tick(SimulationConfig.FIXED_TIMESTEP));
+        this.dayNightPhase = phase("dayNight",
+                EnumSet.noneOf(Resource.class), EnumSet.of(Resource.DAY_NIGHT),
+                () -> dayNightCycle.tick());
+        this.particlePhase = phase("particles",
+                EnumSet.noneOf(Resource.class), EnumSet.of(Resource.PARTICLES),
+                this::updateParticles);
+        this.planktonPhase = phase("plankton",
+                EnumSet.noneOf(Resource.class), EnumSet.of(Resource.PLANKTON, Resource.RANDOM),
+                this::updatePlankton);
+        this.algaePhase = phase("algae",
+                EnumSet.of(Resource.FIELD), EnumSet.of(Resource.ALGAE),
+                this::updateAlgae);
+        this.coralPhase = phase("coral",
+                EnumSet.of(Resource.FIELD), EnumSet.of(Resource.CORALS),
+                this::updateCoral);
+        this.obstaclePhase = phase("obstacles",
+                EnumSet.noneOf(Resource.class), EnumSet.of(Resource.OBSTACLES),
+                this::updateObstacles);
+        this.fishPhase = phase("fish",
+                EnumSet.of(Resource.FIELD, Resource.OBSTACLES, Resource.SHARKS),
+                EnumSet.of(Resource.FISH, Resource.GRID, Resource.PLANKTON, Resource.STATS, Resource.RANDOM),
+                this::updateFish);
+        this.sharkPhase = phase("sharks",
+                EnumSet.of(Resource.FISH, Resource.GRID), EnumSet.of(Resource.SHARKS),
+                this::updateSharks);
+        this.jellyfishPhase = phase("jellyfish",
+                EnumSet.of(Resource.FIELD), EnumSet.of(Resource.JELLYFISH),
+                this::updateJellyfish);
+        this.turtlePhase = phase("turtles",
+                EnumSet.of(Resource.FIELD), EnumSet.of(Resource.TURTLES),
+                this::updateSeaTurtles);
+        this.fishermanPhase = phase("fisherman",
+                EnumSet.of(Resource.GRID),
+                EnumSet.of(Resource.FISHERMAN, Resource.FISH, Resource.PARTICLES, Resource.STATS),
+                this::updateFisherman);
+        this.populationPhase = phase("population",
+                EnumSet.noneOf(Resource.class),
+                EnumSet.of(Resource.FISH, Resource.GRID, Resource.STATS, Resource.RANDOM),
+                this::updatePopulation);
 
         // Spawn initial entities
         spawnInitialFish(initialFishCount);
@@ -186,9 +378,8 @@ public class Ocean {
     // ==================== INITIALIZATION ====================
 
     private void spawnInitialFish(int count) {
-        poissons = new Poisson[count];
         for (int i = 0; i < count; i++) {
-            poissons[i] = new Poisson(
+            fish.add(
                     random.nextDouble() * width,
                     random.nextDouble() * height,
                     random.nextDouble() * 2 * Math.PI);
@@ -267,14 +458,14 @@ public class Ocean {
         for (int i = 0; i < numJellyfish; i++) {
             double x = random.nextDouble() * width;
             double y = height * 0.3 + random.nextDouble() * height * 0.5;
-            jellyfish.add(new Jellyfish(x, y));
+            jellyfish.add(new Jellyfish(x, y, random.split()));
         }
 
         // Add 1-2 sea turtles (rare)
         if (random.nextDouble() < 0.7) {
             double x = random.nextDouble() * width;
             double y = height * 0.4 + random.nextDouble() * height * 0.3;
-            seaTurtles.add(new SeaTurtle(x, y));
+            seaTurtles.add(new SeaTurtle(x, y, random.split()));
         }
     }
 
@@ -288,6 +479,38 @@ public class Ocean {
         support.removePropertyChangeListener(listener);
     }
 
+    /**
+     * Schedules a change to be applied on the simulation thread at the start
+     * of the next tick. Use this for any mutation coming from the UI while a
+     * {@link SimulationLoop} is running.
+     */
+    public void invokeLater(Runnable command) {
+        pendingCommands.add(command);
+    }
+
+    /**
+     * Runs all commands queued with {@link #invokeLater(Runnable)}.
+     *
+     * @return true if at least one command ran
+     */
+    public boolean runPendingCommands() {
+        boolean ran = false;
+        Runnable command;
+        while ((command = pendingCommands.poll()) != null) {
+            command.run();
+            ran = true;
+        }
+        return ran;
+    }
+
+    /**
+     * Captures an immutable copy of the current state for rendering. Call
+     * between ticks on the thread that runs {@link #updateOcean()}.
+     */
+    public FrameSnapshot snapshot() {
+        return new FrameSnapshot(this);
+    }
+
     /**
      * Adds a temporary obstacle at the specified position.
      */
@@ -319,7 +542,8 @@ public class Ocean {
         Shark shark = new Shark(
                 random.nextDouble() * width,
                 random.nextDouble() * height,
-                random.nextDouble() * 2 * Math.PI);
+                random.nextDouble() * 2 * Math.PI,
+                random.split());
         sharks.add(shark);
         logger.debug("Added shark, total: {}", sharks.size());
     }
@@ -334,7 +558,7 @@ public class Ocean {
 
         double x = random.nextDouble() * width;
         double y = height * 0.3 + random.nextDouble() * height * 0.4;
-        jellyfish.add(new Jellyfish(x, y));
+        jellyfish.add(new Jellyfish(x, y, random.split()));
     }
 
     /**
@@ -347,7 +571,7 @@ public class Ocean {
 
         double x = random.nextDouble() * width;
         double y = height * 0.3 + random.nextDouble() * height * 0.4;
-        seaTurtles.add(new SeaTurtle(x, y));
+        seaTurtles.add(new SeaTurtle(x, y, random.split()));
     }
 
     /**
@@ -379,22 +603,21 @@ public class Ocean {
      * Adds multiple fish to the ocean.
      */
     public void addFish(int count) {
-        if (poissons.length + count > SimulationConfig.MAX_FISH) {
-            count = SimulationConfig.MAX_FISH - poissons.length;
+        if (fish.size() + count > SimulationConfig.MAX_FISH) {
+            count = SimulationConfig.MAX_FISH - fish.size();
             if (count <= 0)
                 return;
         }
 
-        Poisson[] newPoissons = new Poisson[poissons.length + count];
-        System.arraycopy(poissons, 0, newPoissons, 0, poissons.length);
-
+        fish.reserve(count);
         for (int i = 0; i < count; i++) {
-            newPoissons[poissons.length + i] = new Poisson(
+            fish.add(
                     random.nextDouble() * width,
                     random.nextDouble() * height,
                     random.nextDouble() * 2 * Math.PI);
         }
-        poissons = newPoissons;
+        // Scattered bulk spawns are cheaper to index with a full rebuild
+        spatialIndex.invalidate();
     }
 
     /**
@@ -414,6 +637,29 @@ public class Ocean {
         return frameCount;
     }
 
+    /**
+     * Gets the master seed this ocean was created with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the spatial index of non-fish entities. Each layer is only
+     * consistent between ticks or inside the phase that rebuilds it (see
+     * {@link WorldIndex}).
+     */
+    public WorldIndex getWorldIndex() {
+        return worldIndex;
+    }
+
+    /**
+     * Gets the ecosystem parameters this ocean runs with.
+     */
+    public EcosystemParameters getParameters() {
+        return parameters;
+    }
+
     /**
      * Gets the ocean width.
      */
@@ -428,76 +674,143 @@ public class Ocean {
         return height;
     }
 
+    /**
+     * Gets the estimated neighbor-visit cost above which the fish update is
+     * split into smaller fork/join tasks.
+     */
+    public long getFishSplitThreshold() {
+        return fishSplitThreshold;
+    }
+
+    /**
+     * Sets the fish task split threshold. Lower values create more, smaller
+     * tasks (better balance, more overhead).
+     */
+    public void setFishSplitThreshold(long threshold) {
+        this.fishSplitThreshold = Math.max(1, threshold);
+    }
+
     /**
      * Updates the ocean dimensions when the window is resized.
      * This ensures fish stay within the visible boundaries.
+     * <p>
+     * Like other mutators, call it between ticks (see {@link #invokeLater}).
+     * The spatial indices and the environmental field are resized in place:
+     * indices keep their arrays unless the world outgrows them and are
+     * re-indexed right away, and the field keeps its time, gyres and current
+     * settings.
      */
     public void setDimensions(double newWidth, double newHeight) {
-        if (newWidth > 0 && newHeight > 0) {
+        if (newWidth > 0 && newHeight > 0 && (newWidth != width || newHeight != height)) {
             this.width = newWidth;
             this.height = newHeight;
 
-            // Update spatial grid for new dimensions
-            this.spatialGrid = new SpatialGrid(newWidth, newHeight, SimulationConfig.GRID_CELL_SIZE);
-
-            // Update environmental field
-            this.environmentalField = new EnvironmentalField(newWidth, newHeight);
+            spatialIndex.resize(newWidth, newHeight);
+            spatialIndex.update(fish, executor);
+            worldIndex.resize(newWidth, newHeight);
+            environmentalField.resize(newWidth, newHeight);
         }
     }
 
-    // ==================== UPDATE METHODS ====================
-
     /**
-     * Main update method - updates all systems and entities.
+     * Switches the fish spatial index to another backend. Like other
+     * mutators, call it between ticks (see {@link #invokeLater}).
      */
-    public void updateOcean() {
-        // Update environmental systems
-        environmentalField.tick(1.0);
-
-        if (dayNightEnabled) {
-            dayNightCycle.tick();
+    public void setSpatialIndexType(SpatialIndexType type) {
+        if (type != spatialIndexType) {
+            spatialIndexType = type;
+            spatialIndex = type.create(width, height);
+            spatialIndex.setKernel(neighborKernel);
+            invalidateNeighborLists();
+            logger.info("Fish spatial index switched to {}", type.id);
         }
+    }
 
-        // Update particles
-        if (particlesEnabled) {
-            particleSystem.update();
-            spawnAmbientBubbles();
+    private void invalidateNeighborLists() {
+        if (verletLists != null) {
+            verletLists.invalidate();
         }
+    }
 
-        // Update plankton
-        planktons.forEach(PlanktonPatch::regenerate);
-        planktons.removeIf(PlanktonPatch::isDepleted);
-
-        // Occasionally spawn new plankton
-        if (planktons.size() < SimulationConfig.INITIAL_PLANKTON_PATCHES * 2 &&
-                random.nextDouble() < 0.02) {
-            spawnPlanktonPatch();
+    /**
+     * Turns the schooling neighbor lists (see {@link VerletLists}) on or
+     * off. Either way fish school with the same neighbors; the lists trade
+     * periodic rebuilds for cheaper queries in between. Like other mutators,
+     * call it between ticks (see {@link #invokeLater}).
+     */
+    public void setNeighborListsEnabled(boolean enabled) {
+        if (enabled != (verletLists != null)) {
+            verletLists = enabled ? new VerletLists(SimulationConfig.VERLET_SKIN) : null;
         }
+    }
 
-        // Update algae sway
-        updateAlgae();
-
-        // Update coral sway
-        updateCoral();
+    /**
+     * Tells whether fish take their schooling neighbors from cached lists.
+     */
+    public boolean isNeighborListsEnabled() {
+        return verletLists != null;
+    }
 
-        // Update obstacles
-        updateObstacles();
+    /**
+     * Switches fish nearest-neighbor queries between the scalar and the
+     * SIMD distance kernel (see {@link NeighborKernel}). Both give the same
+     * results. If the JVM lacks the {@code jdk.incubator.vector} module the
+     * scalar kernel stays in use. Like other mutators, call it between
+     * ticks (see {@link #invokeLater}).
+     */
+    public void setVectorKernelEnabled(boolean enabled) {
+        if (enabled && !NeighborKernel.vectorAvailable()) {
+            logger.warn("Vector kernel unavailable without --add-modules jdk.incubator.vector, staying scalar");
+            enabled = false;
+        }
+        neighborKernel = enabled ? NeighborKernel.vector() : NeighborKernel.scalar();
+        spatialIndex.setKernel(neighborKernel);
+    }
 
-        // Update fish (parallel)
-        updateFish();
+    /**
+     * Tells whether fish nearest-neighbor queries run on the SIMD kernel.
+     */
+    public boolean isVectorKernelEnabled() {
+        return neighborKernel != NeighborKernel.scalar();
+    }
 
-        // Update sharks
-        updateSharks();
+    /**
+     * Gets the backend of the fish spatial index.
+     */
+    public SpatialIndexType getSpatialIndexType() {
+        return spatialIndexType;
+    }
 
-        // Update new creatures
-        updateJellyfish();
-        updateSeaTurtles();
+    // ==================== UPDATE METHODS ====================
 
-        // Update fisherman
-        updateFisherman();
+    /**
+     * Main update method - updates all systems and entities.
+     */
+    public void updateOcean() {
+        // Apply queued UI commands
+        runPendingCommands();
+        frameContext = createContext();
 
-        // Dynamic fish population - maintain minimum count
-        maintainFishPopulation();
+        // Build this frame's phase list; the scheduler derives the DAG
+        List<SystemScheduler.Phase<Resource>> phases = new ArrayList<>(13);
+        phases.add(fieldPhase);
+        if (dayNightEnabled) {
+            phases.add(dayNightPhase);
+        }
+        if (particlesEnabled) {
+            phases.add(particlePhase);
+        }
+        phases.add(planktonPhase);
+        phases.add(algaePhase);
+        phases.add(coralPhase);
+        phases.add(obstaclePhase);
+        phases.add(fishPhase);
+        phases.add(sharkPhase);
+        phases.add(jellyfishPhase);
+        phases.add(turtlePhase);
+        phases.add(fishermanPhase);
+        phases.add(populationPhase);
+        scheduler.run(phases);
 
         frameCount++;
         support.firePropertyChange("oceanUpdated", null, this);
@@ -510,25 +823,47 @@ public class Ocean {
         updateOcean();
     }
 
+    private static SystemScheduler.Phase<Resource> phase(String name, EnumSet<Resource> reads,
+            EnumSet<Resource> writes, Runnable action) {
+        return new SystemScheduler.Phase<>(name, reads, writes, action);
+    }
+
+    private void updateParticles() {
+        particleSystem.update();
+        spawnAmbientBubbles();
+    }
+
     private void spawnAmbientBubbles() {
         bubbleTimer++;
         if (bubbleTimer > 30) {
             bubbleTimer = 0;
 
-            // Bubbles from rocks
-            if (!rocks.isEmpty() && random.nextDouble() < 0.3) {
-                Rock rock = rocks.get(random.nextInt(rocks.size()));
+            // Bubbles from rocks (rock and algae positions never change)
+            if (!rocks.isEmpty() && ambientRandom.nextDouble() < 0.3) {
+                Rock rock = rocks.get(ambientRandom.nextInt(rocks.size()));
                 particleSystem.spawnBubble(rock.posX, rock.posY - 10);
             }
 
             // Bubbles from algae
-            if (!algae.isEmpty() && random.nextDouble() < 0.2) {
-                Algae a = algae.get(random.nextInt(algae.size()));
+            if (!algae.isEmpty() && ambientRandom.nextDouble() < 0.2) {
+                Algae a = algae.get(ambientRandom.nextInt(algae.size()));
                 particleSystem.spawnBubble(a.baseX, a.baseY - a.height);
             }
         }
     }
 
+    private void updatePlankton() {
+        double regenRate = parameters.planktonRegenRate();
+        planktons.forEach(p -> p.regenerate(regenRate));
+        planktons.removeIf(PlanktonPatch::isDepleted);
+
+        // Occasionally spawn new plankton
+        if (planktons.size() < SimulationConfig.INITIAL_PLANKTON_PATCHES * 2 &&
+                random.nextDouble() < 0.02) {
+            spawnPlanktonPatch();
+        }
+    }
+
     private void updateObstacles() {
         for (ZoneAEviter obstacle : obstacles) {
             obstacle.MiseAJour();
@@ -537,60 +872,34 @@ public class Ocean {
     }
 
     private void updateAlgae() {
-        EnvironmentalField.VectorCell[][] cells = environmentalField.getCells();
-        double cellW = environmentalField.getCellWidth();
-        double cellH = environmentalField.getCellHeight();
-
         for (Algae a : algae) {
-            int cellX = (int) (a.baseX / cellW);
-            int cellY = (int) (a.baseY / cellH);
-
-            if (cellX >= 0 && cellX < cells.length && cellY >= 0 && cellY < cells[0].length) {
-                double vx = cells[cellX][cellY].vx;
-                double vy = cells[cellX][cellY].vy;
-                a.update(frameCount, vx, vy);
-            } else {
-                a.update(frameCount, 0, 0);
-            }
+            environmentalField.sampleVector(a.baseX, a.baseY, algaeCurrent);
+            a.update(frameCount, algaeCurrent[0], algaeCurrent[1]);
         }
     }
 
     private void updateCoral() {
-        EnvironmentalField.VectorCell[][] cells = environmentalField.getCells();
-        double cellW = environmentalField.getCellWidth();
-        double cellH = environmentalField.getCellHeight();
-
         for (Coral c : corals) {
-            int cellX = (int) (c.posX / cellW);
-            int cellY = (int) (c.posY / cellH);
-
-            double vx = 0, vy = 0;
-            if (cellX >= 0 && cellX < cells.length && cellY >= 0 && cellY < cells[0].length) {
-                vx = cells[cellX][cellY].vx;
-                vy = cells[cellX][cellY].vy;
-            }
-            c.update(vx, vy);
+            environmentalField.sampleVector(c.posX, c.posY, coralCurrent);
+            c.update(coralCurrent[0], coralCurrent[1]);
         }
     }
 
     private void updateSharks() {
         for (Shark s : sharks) {
-            List<Poisson> nearby = spatialGrid.getNearbyFish(s);
-            s.MiseAJourShark(nearby, width, height);
+            s.MiseAJourShark(fish, spatialIndex, width, height);
         }
     }
 
     private void updateJellyfish() {
-        SimulationContext context = createContext();
         for (Jellyfish j : jellyfish) {
-            j.update(context);
+            j.update(frameContext);
         }
     }
 
     private void updateSeaTurtles() {
-        SimulationContext context = createContext();
         for (SeaTurtle t : seaTurtles) {
-            t.update(context);
+            t.update(frameContext);
         }
     }
 
@@ -598,15 +907,25 @@ public class Ocean {
         fisherman.update();
 
         if (fisherman.isFishing) {
-            List<Poisson> caught = new ArrayList<>();
-            for (Poisson p : poissons) {
-                if (fisherman.checkCatch(p)) {
-                    caught.add(p);
+            // The grid holds positions from before this tick's move. Fish
+            // born this tick are not indexed until the next one.
+            int count = spatialIndex.gatherWithin(fisherman.posX, fisherman.posY,
+                    Fisherman.CATCH_RADIUS + FishSpecies.MAX_INDEX_LAG, catchCandidates);
+            int[] candidates = catchCandidates.indices();
+            Arrays.sort(candidates, 0, count); // Report catches in slot order
+
+            int caught = 0;
+            for (int k = 0; k < count; k++) {
+                int i = candidates[k];
+                if (fish.isAlive(i) && fisherman.checkCatch(fish.x(i), fish.y(i))) {
+                    fish.kill(i);
+                    eventBus.publish(new FishDeathEvent(fish.species(i), fish.x(i), fish.y(i),
+                            FishDeathEvent.DeathCause.CAUGHT_BY_FISHERMAN, frameCount));
+                    caught++;
                 }
             }
 
-            if (!caught.isEmpty()) {
-                removeFish(caught);
+            if (caught > 0) {
                 fisherman.isFishing = false;
                 fisherman.movingDown = false;
 
@@ -618,21 +937,50 @@ public class Ocean {
         }
     }
 
+    private void updatePopulation() {
+        // Dynamic fish population - maintain minimum count
+        maintainFishPopulation();
+
+        // Put fish slots back in spatial order now and then, or pack them
+        // once too many are free (sorting packs them too)
+        if (cellSortDue()) {
+            fish.sortByCell(SimulationConfig.GRID_CELL_SIZE);
+            lastCellSortFrame = frameCount;
+            spatialIndex.invalidate();
+        } else if (fish.freeCount() > fish.slotCount() * SimulationConfig.FISH_COMPACT_FREE_RATIO) {
+            fish.compact();
+            spatialIndex.invalidate();
+        }
+    }
+
+    /**
+     * Decides whether to re-sort fish slots by cell this frame: every
+     * {@link SimulationConfig#FISH_SORT_INTERVAL} frames, or earlier when a
+     * periodic check finds the slot order too far from spatial order. Fish
+     * cross grid cells within a few frames, so drift is measured between
+     * coarser blocks, which only mix once fish have really spread out.
+     */
+    private boolean cellSortDue() {
+        long sinceSort = frameCount - lastCellSortFrame;
+        if (sinceSort >= SimulationConfig.FISH_SORT_INTERVAL) {
+            return true;
+        }
+        return sinceSort % SimulationConfig.FISH_SORT_CHECK_INTERVAL == 0
+                && fish.cellDisorder(SimulationConfig.FISH_SORT_BLOCK_SIZE) > SimulationConfig.FISH_SORT_MAX_DISORDER;
+    }
+
     /**
      * Maintains minimum fish population by spawning new fish when count drops too
      * low.
      */
     private void maintainFishPopulation() {
-        int currentCount = poissons.length;
+        int currentCount = fish.size();
         int minCount = SimulationConfig.MIN_FISH;
 
         if (currentCount < minCount) {
             // Spawn fish gradually (up to 5 per frame to avoid sudden visual jumps)
             int toSpawn = Math.min(5, minCount - currentCount);
 
-            Poisson[] newPoissons = new Poisson[currentCount + toSpawn];
-            System.arraycopy(poissons, 0, newPoissons, 0, currentCount);
-
             for (int i = 0; i < toSpawn; i++) {
                 // Spawn at random edge of screen for natural entry
                 double x, y;
@@ -646,136 +994,181 @@ public class Ocean {
                     y = random.nextBoolean() ? 10 : height - 10;
                 }
 
-                newPoissons[currentCount + i] = new Poisson(
-                        x, y,
-                        random.nextDouble() * 2 * Math.PI);
+                fish.add(x, y, random.nextDouble() * 2 * Math.PI);
 
                 stats.recordBirth();
             }
 
-            poissons = newPoissons;
             logger.debug("Spawned {} fish to maintain minimum population", toSpawn);
         }
     }
 
-    private void removeFish(List<Poisson> toRemove) {
-        if (toRemove.isEmpty())
-            return;
-
-        // Fire death events
-        for (Poisson p : toRemove) {
-            eventBus.publish(new FishDeathEvent(p, FishDeathEvent.DeathCause.CAUGHT_BY_FISHERMAN, frameCount));
+    /**
+     * Updates all fish using multithreading.
+     * <p>
+     * Workers read last frame's state and write next-frame buffers, which are
+     * swapped once all workers finish. Free slots cost nothing and are
+     * skipped. Feeding, deaths and reproduction are
+     * then resolved sequentially in index order, so the result is the same
+     * for any thread count or chunking.
+     */
+    private void updateFish() {
+        // 1. Update the fish spatial index (the grid only moves fish that changed cell),
+        // which sharks and the fisherman query every tick, then the schooling
+        // neighbor lists, which only go back to the index once fish moved too far
+        spatialIndex.update(fish, executor);
+        if (verletLists != null) {
+            verletLists.refresh(fish, spatialIndex, executor);
         }
 
-        Poisson[] newPoissons = new Poisson[poissons.length - toRemove.size()];
-        int idx = 0;
-        for (Poisson p : poissons) {
-            if (!toRemove.contains(p)) {
-                if (idx < newPoissons.length) {
-                    newPoissons[idx++] = p;
+        // 2. Parallel Update over fish slots, split by estimated cost
+        int count = fish.size();
+        int slots = fish.slotCount();
+        framePatches = planktons.toArray(new PlanktonPatch[0]);
+        worldIndex.plankton.rebuild(Arrays.asList(framePatches));
+        worldIndex.sharks.rebuild(sharks);
+        worldIndex.obstacles.rebuild(obstacles);
+        if (fishCostPrefix.length < slots + 1) {
+            fishCostPrefix = new long[Math.max(slots + 1, fishCostPrefix.length * 2)];
+        }
+        for (int i = 0; i < slots; i++) {
+            long cost = fish.isAlive(i) ? 1 + fish.workload(i) : 0;
+            fishCostPrefix[i + 1] = fishCostPrefix[i] + cost;
+        }
+        if (count > 0) {
+            executor.invoke(new FishUpdateTask(0, slots));
+        }
+        fish.swapBuffers();
+
+        // 3. Feeding, deaths and reproduction
+        List<Newborn> newborns = new ArrayList<>();
+        for (int i = fish.nextAlive(0); i >= 0; i = fish.nextAlive(i + 1)) {
+            int patch = fish.feedPatch(i);
+            if (patch >= 0) {
+                double gained = framePatches[patch].consume(parameters.feedEnergyGain());
+                if (gained > 0) {
+                    fish.energy[i] += gained;
+                    stats.recordFeed();
                 }
             }
+
+            if (fish.energy[i] <= 0) {
+                fish.kill(i);
+                stats.recordDeath();
+                eventBus.publish(new FishDeathEvent(fish.species(i), fish.x(i), fish.y(i),
+                        FishDeathEvent.DeathCause.STARVATION, frameCount));
+                continue;
+            }
+
+            if (fish.energy[i] > parameters.reproductionThreshold() &&
+                    count + newborns.size() < SimulationConfig.MAX_FISH) {
+                fish.energy[i] -= parameters.reproductionCost();
+                newborns.add(new Newborn(
+                        fish.x(i) + random.nextGaussian() * 4,
+                        fish.y(i) + random.nextGaussian() * 4,
+                        random.nextDouble() * 2 * Math.PI,
+                        fish.species(i)));
+            }
+        }
+        for (Newborn n : newborns) {
+            fish.add(n.x(), n.y(), n.direction(), n.species());
+            stats.recordBirth();
+        }
+
+        if (fish.size() > 0) {
+            double totalEnergy = 0;
+            for (int i = fish.nextAlive(0); i >= 0; i = fish.nextAlive(i + 1)) {
+                totalEnergy += fish.energy(i);
+            }
+            stats.setAvgEnergy(totalEnergy / fish.size());
         }
-        poissons = newPoissons;
     }
 
     /**
-     * Updates all fish using multithreading.
+     * Updates a range of fish, splitting it in two halves of equal estimated
+     * cost while the range costs more than the split threshold. Cost is the
+     * number of neighbor candidates each fish visited last frame, so dense
+     * schools are divided more finely than sparse water.
      */
-    private void updateFish() {
-        // 1. Rebuild Spatial Grid
-        spatialGrid.clear();
-        for (Poisson p : poissons) {
-            spatialGrid.addFish(p);
-        }
-
-        // 2. Parallel Update
-        int chunkSize = (int) Math.ceil((double) poissons.length / numThreads);
-        List<java.util.concurrent.Callable<Void>> tasks = new ArrayList<>();
-        ConcurrentLinkedQueue<Poisson> newborns = new ConcurrentLinkedQueue<>();
-
-        for (int i = 0; i < numThreads; i++) {
-            final int start = i * chunkSize;
-            final int end = Math.min(start + chunkSize, poissons.length);
-
-            if (start < end) {
-                tasks.add(() -> {
-                    for (int j = start; j < end; j++) {
-                        Poisson p = poissons[j];
-                        List<Poisson> nearby = spatialGrid.getNearbyFish(p);
-                        p.MiseAJour(nearby, new ArrayList<>(obstacles), sharks,
-                                planktons, environmentalField, width, height);
-
-                        if (!p.alive)
-                            continue;
-
-                        // Reproduction
-                        if (p.energy > SimulationConfig.REPRODUCTION_THRESHOLD &&
-                                poissons.length + newborns.size() < SimulationConfig.MAX_FISH) {
-
-                            p.energy -= SimulationConfig.REPRODUCTION_COST;
-                            Poisson child = new Poisson(
-                                    p.posX + random.nextGaussian() * 4,
-                                    p.posY + random.nextGaussian() * 4,
-                                    random.nextDouble() * 2 * Math.PI,
-                                    p.species);
-                            newborns.add(child);
-                        }
-                    }
-                    return null;
-                });
-            }
-        }
+    private final class FishUpdateTask extends RecursiveAction {
+        private final int start;
+        private final int end;
 
-        try {
-            executor.invokeAll(tasks);
-        } catch (InterruptedException e) {
-            logger.error("Fish update interrupted", e);
-            Thread.currentThread().interrupt();
+        FishUpdateTask(int start, int end) {
+            this.start = start;
+            this.end = end;
         }
 
-        // 3. Collect survivors & newborns
-        List<Poisson> survivors = new ArrayList<>(poissons.length);
-        double totalEnergy = 0;
-
-        for (Poisson p : poissons) {
-            if (p.alive) {
-                survivors.add(p);
-                totalEnergy += p.energy;
-            } else {
-                stats.recordDeath();
-                eventBus.publish(new FishDeathEvent(p, FishDeathEvent.DeathCause.STARVATION, frameCount));
+        @Override
+        protected void compute() {
+            long cost = fishCostPrefix[end] - fishCostPrefix[start];
+            if (end - start > 1 && cost > fishSplitThreshold) {
+                int mid = splitPoint(fishCostPrefix[start] + cost / 2);
+                invokeAll(new FishUpdateTask(start, mid), new FishUpdateTask(mid, end));
+                return;
             }
-        }
 
-        for (Poisson n : newborns) {
-            survivors.add(n);
-            stats.recordBirth();
-            totalEnergy += n.energy;
+            BEHAVIOR.get().updateRange(fish, start, end, spatialIndex, verletLists, worldIndex,
+                    environmentalField, width, height, parameters.energyDecayPerTick());
         }
 
-        if (!survivors.isEmpty()) {
-            stats.setAvgEnergy(totalEnergy / survivors.size());
+        /**
+         * Finds the index in (start, end) where the cost prefix reaches the
+         * target.
+         */
+        private int splitPoint(long target) {
+            int lo = start + 1;
+            int hi = end - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (fishCostPrefix[mid] < target) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
         }
+    }
+
+    /**
+     * Shared state a tick phase can read or write, used by the scheduler to
+     * decide which phases may overlap. Rocks are immutable and not listed;
+     * each shark, jellyfish and turtle draws from its own random stream, so
+     * only the ocean's {@link #random} needs a resource of its own.
+     */
+    private enum Resource {
+        FIELD, DAY_NIGHT, PARTICLES, PLANKTON, ALGAE, CORALS, OBSTACLES,
+        FISH, GRID, SHARKS, JELLYFISH, TURTLES, FISHERMAN, STATS, RANDOM
+    }
 
-        poissons = survivors.toArray(new Poisson[0]);
+    /** Offspring produced during the fish update, added once it completes. */
+    private record Newborn(double x, double y, double direction, FishSpecies species) {
     }
 
+    /**
+     * Creates the context for one frame, refilling the flat world snapshot
+     * it shares. Call before any phase of the frame runs.
+     */
     private SimulationContext createContext() {
+        worldSnapshot.capture(sharks, obstacles, planktons);
         return new SimulationContext(
-                width, height, 1.0, frameCount,
-                spatialGrid, environmentalField,
-                planktons, sharks, new ArrayList<>(obstacles),
+                width, height, SimulationConfig.FIXED_TIMESTEP, frameCount,
+                spatialIndex, environmentalField, worldSnapshot,
                 dayNightCycle);
     }
 
     // ==================== CLEANUP ====================
 
     /**
-     * Shuts down the ocean and releases resources.
+     * Shuts down the ocean and releases resources. A pool passed in by the
+     * caller is left running.
      */
     public void shutdown() {
         logger.info("Shutting down ocean");
+        if (!ownsExecutor) {
+            return;
+        }
         executor.shutdown();
         try {
             if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
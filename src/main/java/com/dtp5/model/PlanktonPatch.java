@@ -16,6 +16,12 @@ public class PlanktonPatch extends Objet {
         this.radius = SimulationConfig.PLANKTON_FEED_RADIUS;
     }
 
+    public PlanktonPatch(PlanktonPatch other) {
+        super(other.posX, other.posY);
+        this.biomass = other.biomass;
+        this.radius = other.radius;
+    }
+
     public double getRadius() {
         return radius;
     }
@@ -32,9 +38,14 @@ public class PlanktonPatch extends Objet {
      * Regrows biomass gradually up to a cap.
      */
     public void regenerate() {
-        biomass = Math.min(
-                SimulationConfig.PLANKTON_MAX_BIOMASS,
-                biomass + SimulationConfig.PLANKTON_REGEN_RATE);
+        regenerate(SimulationConfig.PLANKTON_REGEN_RATE);
+    }
+
+    /**
+     * Regrows biomass by the given amount, up to the cap.
+     */
+    public void regenerate(double rate) {
+        biomass = Math.min(SimulationConfig.PLANKTON_MAX_BIOMASS, biomass + rate);
     }
 
     /**
@@ -0,0 +1,326 @@
+package com.dtp5.model;
+
+import com.dtp5.config.SimulationConfig;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Common storage and queries for the tree-shaped fish indices
+ * ({@link QuadTree}, {@link KdTree}), which differ only in how they split a
+ * node.
+ * <p>
+ * Every update rebuilds the tree in bulk. Live fish are copied into flat
+ * arrays ({@code items}, {@code xs}, {@code ys}) which the build then
+ * partitions in place, so every node owns a contiguous range
+ * {@code [nodeStart, nodeEnd)} of them and the children of a node are
+ * consecutive nodes. Each node also keeps the tight bounding box of its
+ * fish, which lets queries skip whole subtrees. Nodes are plain arrays
+ * indexed by node number, so a rebuild does not allocate once the arrays
+ * have grown to fit.
+ * <p>
+ * Queries only read the tree and are safe to run from many threads at once.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+abstract class PointTree implements SpatialIndex {
+
+    /** Deepest node level; guards against fish stacked on one point */
+    private static final int MAX_DEPTH = 32;
+
+    // Fish in tree order: index, then position at build time
+    int[] items = new int[0];
+    double[] xs = new double[0];
+    double[] ys = new double[0];
+    int size;
+
+    /** Distance kernel for nearest-neighbor queries */
+    private NeighborKernel kernel = NeighborKernel.scalar();
+
+    // Nodes
+    int nodeCount;
+    int[] nodeStart = new int[0];
+    int[] nodeEnd = new int[0];
+    private int[] firstChild = new int[0];
+    private int[] childCount = new int[0];
+    private double[] minX = new double[0];
+    private double[] minY = new double[0];
+    private double[] maxX = new double[0];
+    private double[] maxY = new double[0];
+
+    /**
+     * Rebuilds the tree from every live fish in the store, on the calling
+     * thread.
+     */
+    @Override
+    public void update(FishStore fish, ForkJoinPool pool) {
+        if (items.length < fish.size()) {
+            int capacity = Math.max(fish.size(), items.length * 2);
+            items = new int[capacity];
+            xs = new double[capacity];
+            ys = new double[capacity];
+        }
+        size = 0;
+        for (int i = fish.nextAlive(0); i >= 0; i = fish.nextAlive(i + 1)) {
+            items[size] = i;
+            xs[size] = fish.posX[i];
+            ys[size] = fish.posY[i];
+            size++;
+        }
+        nodeCount = 0;
+        if (size > 0) {
+            build(newNode(0, size), 0);
+        }
+    }
+
+    private void build(int node, int depth) {
+        int start = nodeStart[node];
+        int end = nodeEnd[node];
+        double x0 = Double.POSITIVE_INFINITY;
+        double y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY;
+        double y1 = Double.NEGATIVE_INFINITY;
+        for (int k = start; k < end; k++) {
+            x0 = Math.min(x0, xs[k]);
+            y0 = Math.min(y0, ys[k]);
+            x1 = Math.max(x1, xs[k]);
+            y1 = Math.max(y1, ys[k]);
+        }
+        minX[node] = x0;
+        minY[node] = y0;
+        maxX[node] = x1;
+        maxY[node] = y1;
+        firstChild[node] = nodeCount;
+        childCount[node] = 0;
+        if (end - start <= SimulationConfig.TREE_LEAF_SIZE || depth >= MAX_DEPTH) {
+            return;
+        }
+
+        int first = nodeCount;
+        split(node, start, end, x0, y0, x1, y1);
+        int children = nodeCount - first;
+        if (children <= 1) {
+            // Could not separate the fish (all on one spot): keep a leaf
+            nodeCount = first;
+            return;
+        }
+        childCount[node] = children;
+        for (int c = first; c < first + children; c++) {
+            build(c, depth + 1);
+        }
+    }
+
+    /**
+     * Partitions fish {@code [start, end)} of a node and creates its
+     * children with {@link #newNode}, in order and skipping empty ones.
+     * The bounds are the tight bounding box of those fish.
+     */
+    abstract void split(int node, int start, int end, double x0, double y0, double x1, double y1);
+
+    @Override
+    public void setKernel(NeighborKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    /**
+     * Appends a node owning fish {@code [start, end)}.
+     *
+     * @return The new node's number
+     */
+    final int newNode(int start, int end) {
+        if (nodeCount == nodeStart.length) {
+            int capacity = Math.max(16, nodeCount * 2);
+            nodeStart = Arrays.copyOf(nodeStart, capacity);
+            nodeEnd = Arrays.copyOf(nodeEnd, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            childCount = Arrays.copyOf(childCount, capacity);
+            minX = Arrays.copyOf(minX, capacity);
+            minY = Arrays.copyOf(minY, capacity);
+            maxX = Arrays.copyOf(maxX, capacity);
+            maxY = Arrays.copyOf(maxY, capacity);
+        }
+        nodeStart[nodeCount] = start;
+        nodeEnd[nodeCount] = end;
+        return nodeCount++;
+    }
+
+    /**
+     * Moves the fish in {@code [start, end)} whose coordinate on an axis is
+     * below {@code pivot} to the front of the range.
+     *
+     * @return Index of the first fish at or above the pivot
+     */
+    final int partition(int start, int end, boolean onX, double pivot) {
+        double[] key = onX ? xs : ys;
+        int lo = start;
+        int hi = end - 1;
+        while (lo <= hi) {
+            if (key[lo] < pivot) {
+                lo++;
+            } else {
+                swap(lo, hi--);
+            }
+        }
+        return lo;
+    }
+
+    final void swap(int a, int b) {
+        int item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+        double t = xs[a];
+        xs[a] = xs[b];
+        xs[b] = t;
+        t = ys[a];
+        ys[a] = ys[b];
+        ys[b] = t;
+    }
+
+    /**
+     * Gets the squared distance from a point to a node's bounding box.
+     */
+    private double boxDistanceSq(int node, double x, double y) {
+        double dx = x < minX[node] ? minX[node] - x : Math.max(0, x - maxX[node]);
+        double dy = y < minY[node] ? minY[node] - y : Math.max(0, y - maxY[node]);
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Gets the squared distance from a point to the farthest corner of a
+     * node's bounding box.
+     */
+    private double boxFarthestSq(int node, double x, double y) {
+        double dx = Math.max(x - minX[node], maxX[node] - x);
+        double dy = Math.max(y - minY[node], maxY[node] - y);
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Passes every fish within the circle, at its indexed position, to a
+     * visitor. Nodes entirely inside the circle are passed on whole.
+     */
+    @Override
+    public void forEachWithin(double x, double y, double radius, NeighborVisitor visitor) {
+        if (size > 0) {
+            forEachWithin(0, x, y, radius * radius, visitor);
+        }
+    }
+
+    private void forEachWithin(int node, double x, double y, double radiusSq, NeighborVisitor visitor) {
+        if (boxDistanceSq(node, x, y) > radiusSq) {
+            return;
+        }
+        if (boxFarthestSq(node, x, y) <= radiusSq) {
+            for (int k = nodeStart[node]; k < nodeEnd[node]; k++) {
+                visitor.visit(items[k]);
+            }
+            return;
+        }
+        if (childCount[node] == 0) {
+            for (int k = nodeStart[node]; k < nodeEnd[node]; k++) {
+                double dx = xs[k] - x;
+                double dy = ys[k] - y;
+                if (dx * dx + dy * dy <= radiusSq) {
+                    visitor.visit(items[k]);
+                }
+            }
+            return;
+        }
+        for (int c = firstChild[node], end = c + childCount[node]; c < end; c++) {
+            forEachWithin(c, x, y, radiusSq, visitor);
+        }
+    }
+
+    /**
+     * Copies every fish within the circle, at its indexed position, into a
+     * buffer. Nodes entirely inside the circle are copied whole.
+     */
+    @Override
+    public int gatherWithin(double x, double y, double radius, Neighbors out) {
+        out.size = 0;
+        if (size > 0) {
+            gatherWithin(0, x, y, radius * radius, out);
+        }
+        return out.size;
+    }
+
+    private void gatherWithin(int node, double x, double y, double radiusSq, Neighbors out) {
+        if (boxDistanceSq(node, x, y) > radiusSq) {
+            return;
+        }
+        if (boxFarthestSq(node, x, y) <= radiusSq) {
+            out.append(items, nodeStart[node], nodeEnd[node] - nodeStart[node]);
+            return;
+        }
+        if (childCount[node] == 0) {
+            for (int k = nodeStart[node]; k < nodeEnd[node]; k++) {
+                double dx = xs[k] - x;
+                double dy = ys[k] - y;
+                if (dx * dx + dy * dy <= radiusSq) {
+                    out.add(items[k]);
+                }
+            }
+            return;
+        }
+        for (int c = firstChild[node], end = c + childCount[node]; c < end; c++) {
+            gatherWithin(c, x, y, radiusSq, out);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Descends nearest child first and skips every subtree whose bounding
+     * box cannot beat the current {@code k}-th distance.
+     */
+    @Override
+    public int gatherNearest(FishStore fish, double x, double y, double maxDistance, int k, int exclude,
+            Nearest out) {
+        out.reset(k);
+        if (k > 0 && size > 0) {
+            gatherNearest(0, x, y, maxDistance * maxDistance, exclude, out);
+        }
+        out.sort();
+        return out.size();
+    }
+
+    private void gatherNearest(int node, double x, double y, double maxSq, int exclude, Nearest out) {
+        if (out.prunes(boxDistanceSq(node, x, y), maxSq)) {
+            return;
+        }
+        int children = childCount[node];
+        if (children == 0) {
+            int start = nodeStart[node];
+            int end = nodeEnd[node];
+            out.ensureHits(end - start);
+            int hits = kernel.closerThan(xs, ys, start, end, x, y, maxSq, out.hits, out.hitDistancesSq);
+            for (int h = 0; h < hits; h++) {
+                int j = items[out.hits[h]];
+                if (j != exclude) {
+                    out.offer(j, out.hitDistancesSq[h]);
+                }
+            }
+            out.scanned += end - start;
+            return;
+        }
+        // Visit children nearest first (at most four), tracked by a bit mask
+        int first = firstChild[node];
+        int visited = 0;
+        for (int n = 0; n < children; n++) {
+            int best = -1;
+            double bestDist = Double.POSITIVE_INFINITY;
+            for (int c = 0; c < children; c++) {
+                if ((visited & (1 << c)) == 0) {
+                    double d = boxDistanceSq(first + c, x, y);
+                    if (best < 0 || d < bestDist) {
+                        best = c;
+                        bestDist = d;
+                    }
+                }
+            }
+            visited |= 1 << best;
+            gatherNearest(first + best, x, y, maxSq, exclude, out);
+        }
+    }
+}
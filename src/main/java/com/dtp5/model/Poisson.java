@@ -1,12 +1,18 @@
 package com.dtp5.model;
 
-import java.awt.*;
-import java.awt.geom.Point2D;
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Random;
+import com.dtp5.config.SimulationConfig;
 
+import java.awt.*;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Object-form swimmer with its own position, velocity, species and trail.
+ * <p>
+ * The fish population itself is stored in a {@link FishStore} and steered by
+ * {@link FishBehavior}; this class is the base for individually tracked
+ * creatures such as {@link Shark}.
+ */
 public class Poisson extends Objet {
     // Velocity components
     public double vitesseX;
@@ -18,25 +24,42 @@ public class Poisson extends Objet {
 
     // Visual properties
     public Color color;
-    public LinkedList<Point2D.Double> trail;
+
+    // Trail: ring buffer of recent positions, newest at trailHead
+    private final float[] trailX = new float[Math.max(0, SimulationConfig.TRAIL_LENGTH)];
+    private final float[] trailY = new float[trailX.length];
+    private int trailHead;
+    private int trailLength;
 
     // Species
     public FishSpecies species;
 
-    // Static random for color selection
-    private static final Random colorRandom = new Random();
-
     /**
      * Creates a new fish at the specified position with the given direction.
      */
     public Poisson(double _x, double _y, double _dir) {
-        this(_x, _y, _dir, getRandomSpecies());
+        this(_x, _y, _dir, new SplittableRandom());
+    }
+
+    /**
+     * Creates a new fish of a random species drawn from the given generator.
+     */
+    public Poisson(double _x, double _y, double _dir, RandomGenerator random) {
+        this(_x, _y, _dir, getRandomSpecies(random), random);
     }
 
     /**
      * Creates a new fish with a specific species.
      */
     public Poisson(double _x, double _y, double _dir, FishSpecies _species) {
+        this(_x, _y, _dir, _species, new SplittableRandom());
+    }
+
+    /**
+     * Creates a new fish with a specific species, picking its color from the
+     * given generator.
+     */
+    public Poisson(double _x, double _y, double _dir, FishSpecies _species, RandomGenerator random) {
         posX = _x;
         posY = _y;
         species = _species;
@@ -45,18 +68,32 @@ public class Poisson extends Objet {
         vitesseY = Math.sin(_dir) * species.speed;
 
         // Assign random color from species palette
-        color = species.getRandomColor(colorRandom);
-
-        // Initialize trail
-        trail = new LinkedList<>();
+        color = species.getRandomColor(random);
 
         // Base energy
-        energy = com.dtp5.config.SimulationConfig.BASE_ENERGY;
+        energy = SimulationConfig.BASE_ENERGY;
     }
 
-    private static FishSpecies getRandomSpecies() {
+    /**
+     * Creates a copy of another fish, including its trail.
+     */
+    public Poisson(Poisson other) {
+        super(other.posX, other.posY);
+        vitesseX = other.vitesseX;
+        vitesseY = other.vitesseY;
+        energy = other.energy;
+        alive = other.alive;
+        color = other.color;
+        System.arraycopy(other.trailX, 0, trailX, 0, trailX.length);
+        System.arraycopy(other.trailY, 0, trailY, 0, trailY.length);
+        trailHead = other.trailHead;
+        trailLength = other.trailLength;
+        species = other.species;
+    }
+
+    private static FishSpecies getRandomSpecies(RandomGenerator random) {
         FishSpecies[] all = FishSpecies.values();
-        return all[colorRandom.nextInt(all.length)];
+        return all[random.nextInt(all.length)];
     }
 
     public double getVitesseX() {
@@ -67,16 +104,43 @@ public class Poisson extends Objet {
         return vitesseY;
     }
 
+    /**
+     * Gets the number of recorded trail points, at most
+     * {@link SimulationConfig#TRAIL_LENGTH}.
+     */
+    public int trailLength() {
+        return trailLength;
+    }
+
+    /**
+     * Gets the X coordinate of the k-th trail point (0 = newest).
+     */
+    public double trailX(int k) {
+        return trailX[trailIndex(k)];
+    }
+
+    /**
+     * Gets the Y coordinate of the k-th trail point (0 = newest).
+     */
+    public double trailY(int k) {
+        return trailY[trailIndex(k)];
+    }
+
+    private int trailIndex(int k) {
+        int at = trailHead - k;
+        return at < 0 ? at + trailX.length : at;
+    }
+
     /**
      * Updates the fish's position and trail.
      */
     protected void MiseAJourPosition() {
-        // Add current position to trail
-        trail.addFirst(new Point2D.Double(posX, posY));
-
-        // Limit trail length
-        while (trail.size() > 5) { // Fixed trail length
-            trail.removeLast();
+        // Record the current position, overwriting the oldest once full
+        if (trailX.length > 0) {
+            trailHead = trailHead + 1 == trailX.length ? 0 : trailHead + 1;
+            trailX[trailHead] = (float) posX;
+            trailY[trailHead] = (float) posY;
+            trailLength = Math.min(trailLength + 1, trailX.length);
         }
 
         // Move fish
@@ -84,17 +148,6 @@ public class Poisson extends Objet {
         posY += vitesseY;
     }
 
-    /**
-     * Checks if another fish is within alignment range.
-     */
-    protected boolean DansAlignement(Poisson p) {
-        double distanceCarre = DistanceCarre(p);
-        double maxDist = species.getMaxDistance();
-        double minDist = species.getMinDistance();
-        return (distanceCarre < maxDist * maxDist &&
-                distanceCarre > minDist * minDist);
-    }
-
     /**
      * Calculates the distance to the nearest wall.
      */
@@ -169,174 +222,4 @@ public class Poisson extends Objet {
         }
         return turned;
     }
-
-    /**
-     * Avoids obstacles by steering away from them.
-     */
-    protected boolean EviterObstacles(ArrayList<ZoneAEviter> obstacles) {
-        if (!obstacles.isEmpty()) {
-            // Find nearest obstacle
-            ZoneAEviter obstacleProche = obstacles.get(0);
-            double distanceCarre = DistanceCarre(obstacleProche);
-            for (ZoneAEviter o : obstacles) {
-                if (DistanceCarre(o) < distanceCarre) {
-                    obstacleProche = o;
-                    distanceCarre = DistanceCarre(o);
-                }
-            }
-
-            if (distanceCarre < (obstacleProche.rayon * obstacleProche.rayon)) {
-                // Collision - calculate avoidance vector
-                double distance = Math.sqrt(distanceCarre);
-                double diffX = (obstacleProche.posX - posX) / distance;
-                double diffY = (obstacleProche.posY - posY) / distance;
-                vitesseX = vitesseX - diffX * species.speed * 0.5;
-                vitesseY = vitesseY - diffY * species.speed * 0.5;
-                Normaliser();
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Avoids other fish to prevent crowding - now uses nearby fish list.
-     */
-    protected boolean EviterPoissons(List<Poisson> nearbyFish) {
-        Poisson closest = null;
-        double closestDist = Double.MAX_VALUE;
-
-        for (Poisson p : nearbyFish) {
-            if (p != this) {
-                double dist = DistanceCarre(p);
-                if (dist < closestDist) {
-                    closest = p;
-                    closestDist = dist;
-                }
-            }
-        }
-
-        if (closest == null)
-            return false;
-
-        // Avoidance
-        double minDist = species.getMinDistance();
-        if (closestDist < minDist * minDist) {
-            double distance = Math.sqrt(closestDist);
-            double diffX = (closest.posX - posX) / distance;
-            double diffY = (closest.posY - posY) / distance;
-            vitesseX = vitesseX - diffX * species.speed * 0.25;
-            vitesseY = vitesseY - diffY * species.speed * 0.25;
-            Normaliser();
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Aligns with nearby fish by averaging their velocity vectors - now uses nearby
-     * fish list.
-     */
-    protected void CalculerDirectionMoyenne(List<Poisson> nearbyFish) {
-        double vitesseXTotal = 0;
-        double vitesseYTotal = 0;
-        int nbTotal = 0;
-
-        for (Poisson p : nearbyFish) {
-            if (p != this && DansAlignement(p)) {
-                vitesseXTotal += p.vitesseX;
-                vitesseYTotal += p.vitesseY;
-                nbTotal++;
-            }
-        }
-
-        if (nbTotal >= 1) {
-            double schoolingStrength = species.getSchoolingStrength();
-            vitesseX = (vitesseXTotal / nbTotal) * schoolingStrength + vitesseX * (1 - schoolingStrength);
-            vitesseY = (vitesseYTotal / nbTotal) * schoolingStrength + vitesseY * (1 - schoolingStrength);
-            Normaliser();
-        }
-    }
-
-    /**
-     * Avoids sharks by fleeing.
-     */
-    protected boolean EviterRequins(List<Shark> sharks) {
-        if (sharks.isEmpty())
-            return false;
-
-        Shark closest = null;
-        double closestDist = Double.MAX_VALUE;
-
-        for (Shark s : sharks) {
-            double dist = DistanceCarre(s);
-            if (dist < closestDist) {
-                closest = s;
-                closestDist = dist;
-            }
-        }
-
-        if (closest != null && closestDist < 22500) { // 150px detection
-            double distance = Math.sqrt(closestDist);
-            double diffX = (closest.posX - posX) / distance;
-            double diffY = (closest.posY - posY) / distance;
-
-            // Flee hard
-            vitesseX -= diffX * species.speed * 0.8;
-            vitesseY -= diffY * species.speed * 0.8;
-            Normaliser();
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Main update method - applies all behaviors in priority order.
-     * Now uses spatial grid for efficient neighbor queries.
-     */
-    public void MiseAJour(List<Poisson> nearbyFish, ArrayList<ZoneAEviter> obstacles,
-            List<Shark> sharks, List<PlanktonPatch> planktons, EnvironmentalField field,
-            double largeur, double hauteur) {
-        if (!EviterMurs(0, 0, largeur, hauteur)) {
-            if (!EviterRequins(sharks)) {
-                if (!EviterObstacles(obstacles)) {
-                    if (!EviterPoissons(nearbyFish)) {
-                        CalculerDirectionMoyenne(nearbyFish);
-                    }
-                }
-            }
-        }
-        applyEnvironmentalField(field);
-        MiseAJourPosition();
-        updateEnergy(planktons);
-        checkVitality();
-    }
-
-    private void applyEnvironmentalField(EnvironmentalField field) {
-        Point2D.Double vec = field.sampleVector(posX, posY);
-        vitesseX += vec.x * com.dtp5.config.SimulationConfig.CURRENT_INFLUENCE;
-        vitesseY += vec.y * com.dtp5.config.SimulationConfig.CURRENT_INFLUENCE;
-        Normaliser();
-    }
-
-    private void updateEnergy(List<PlanktonPatch> planktons) {
-        energy -= com.dtp5.config.SimulationConfig.ENERGY_DECAY_PER_TICK;
-        for (PlanktonPatch patch : planktons) {
-            double r = patch.getRadius();
-            double dx = patch.posX - posX;
-            double dy = patch.posY - posY;
-            double distSq = dx * dx + dy * dy;
-            if (distSq < r * r) {
-                double gained = patch.consume(com.dtp5.config.SimulationConfig.FEED_ENERGY_GAIN);
-                energy += gained;
-                break;
-            }
-        }
-    }
-
-    private void checkVitality() {
-        if (energy <= 0) {
-            alive = false;
-        }
-    }
 }
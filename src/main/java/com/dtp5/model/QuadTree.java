@@ -0,0 +1,37 @@
+package com.dtp5.model;
+
+/**
+ * Adaptive quadtree over fish positions: a node splits into four quadrants
+ * around the center of its fish's bounding box until it holds at most
+ * {@link com.dtp5.config.SimulationConfig#TREE_LEAF_SIZE} fish.
+ * <p>
+ * Dense regions get deep, small nodes and empty water gets none, so query
+ * cost follows the local density rather than a fixed cell size. That makes
+ * it a good fit when the population collapses into a few tight schools, or
+ * when the world is much larger than the area fish occupy.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public class QuadTree extends PointTree {
+
+    @Override
+    void split(int node, int start, int end, double x0, double y0, double x1, double y1) {
+        double midX = (x0 + x1) / 2;
+        double midY = (y0 + y1) / 2;
+        int top = partition(start, end, false, midY);
+        int topLeft = partition(start, top, true, midX);
+        int bottomLeft = partition(top, end, true, midX);
+
+        addChild(start, topLeft);
+        addChild(topLeft, top);
+        addChild(top, bottomLeft);
+        addChild(bottomLeft, end);
+    }
+
+    private void addChild(int start, int end) {
+        if (end > start) {
+            newNode(start, end);
+        }
+    }
+}
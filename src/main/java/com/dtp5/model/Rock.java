@@ -1,6 +1,6 @@
 package com.dtp5.model;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a rock or reef structure at the bottom of the aquarium.
@@ -20,7 +20,7 @@ public class Rock {
         REEF_CLUSTER
     }
     
-    public Rock(double x, double y, RockType type, Random random) {
+    public Rock(double x, double y, RockType type, RandomGenerator random) {
         this.posX = x;
         this.posY = y;
         this.type = type;
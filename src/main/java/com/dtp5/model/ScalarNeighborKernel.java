@@ -0,0 +1,31 @@
+package com.dtp5.model;
+
+/**
+ * Reference {@link NeighborKernel}: one point at a time.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+final class ScalarNeighborKernel implements NeighborKernel {
+
+    static final ScalarNeighborKernel INSTANCE = new ScalarNeighborKernel();
+
+    private ScalarNeighborKernel() {
+    }
+
+    @Override
+    public int closerThan(double[] xs, double[] ys, int from, int to, double x, double y, double maxSq,
+            int[] hits, double[] distancesSq) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            double dx = xs[i] - x;
+            double dy = ys[i] - y;
+            double d = dx * dx + dy * dy;
+            if (d < maxSq) {
+                hits[count] = i;
+                distancesSq[count++] = d;
+            }
+        }
+        return count;
+    }
+}
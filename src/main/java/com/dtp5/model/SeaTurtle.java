@@ -1,7 +1,8 @@
 package com.dtp5.model;
 
 import java.awt.Color;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a sea turtle - a rare, majestic creature that moves gracefully.
@@ -15,6 +16,9 @@ public class SeaTurtle extends Entity implements Updatable {
     /** Velocity components */
     private double vx, vy;
 
+    /** Scratch for sampling the current */
+    private final double[] current = new double[2];
+
     /** Current heading angle */
     private double heading;
 
@@ -39,8 +43,8 @@ public class SeaTurtle extends Entity implements Updatable {
     /** Time until next target change */
     private int wanderTimer;
 
-    /** Random for behavior */
-    private static final Random random = new Random();
+    /** This turtle's own random stream, for looks and wandering */
+    private final RandomGenerator random;
 
     /** Shell color palette */
     private static final Color[] SHELL_COLORS = {
@@ -54,7 +58,16 @@ public class SeaTurtle extends Entity implements Updatable {
      * Creates a new sea turtle at the specified position.
      */
     public SeaTurtle(double x, double y) {
+        this(x, y, new SplittableRandom());
+    }
+
+    /**
+     * Creates a new sea turtle that draws all its randomness from the given
+     * stream.
+     */
+    public SeaTurtle(double x, double y, RandomGenerator random) {
         super(x, y);
+        this.random = random;
 
         // Size and speed
         this.shellSize = 40 + random.nextDouble() * 20;
@@ -81,6 +94,25 @@ public class SeaTurtle extends Entity implements Updatable {
         this.wanderTimer = 0;
     }
 
+    /**
+     * Creates a copy of another sea turtle, e.g. for a frame snapshot.
+     */
+    public SeaTurtle(SeaTurtle other) {
+        super(other);
+        this.random = other.random; // Copies are never updated
+        this.vx = other.vx;
+        this.vy = other.vy;
+        this.heading = other.heading;
+        this.flipperPhase = other.flipperPhase;
+        this.speed = other.speed;
+        this.shellSize = other.shellSize;
+        this.shellColor = other.shellColor;
+        this.skinColor = other.skinColor;
+        this.targetX = other.targetX;
+        this.targetY = other.targetY;
+        this.wanderTimer = other.wanderTimer;
+    }
+
     @Override
     public void update(SimulationContext context) {
         // Update flipper animation
@@ -114,9 +146,9 @@ public class SeaTurtle extends Entity implements Updatable {
 
         // Apply environmental current (turtles fight it somewhat)
         if (context.environmentalField() != null) {
-            var current = context.environmentalField().sampleVector(posX, posY);
-            vx += current.x * 0.1;
-            vy += current.y * 0.1;
+            context.environmentalField().sampleVector(posX, posY, current);
+            vx += current[0] * 0.1;
+            vy += current[1] * 0.1;
         }
 
         // Update position
@@ -1,51 +1,101 @@
 package com.dtp5.model;
 
+import com.dtp5.config.SimulationConfig;
+
 import java.awt.Color;
-import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a predator shark that chases fish.
  */
 public class Shark extends Poisson {
 
+    /** This shark's own random stream, used for wandering */
+    private final RandomGenerator random;
+
+    // Prey scan state, filled in by the index visitor during an update
+    private final NeighborVisitor preyScan = this::considerPrey;
+    private FishStore preyStore;
+    private int target;
+    private double minDistance;
+
     public Shark(double _x, double _y, double _dir) {
-        super(_x, _y, _dir);
+        this(_x, _y, _dir, new SplittableRandom());
+    }
+
+    /**
+     * Creates a shark that draws all its randomness from the given stream.
+     */
+    public Shark(double _x, double _y, double _dir, RandomGenerator random) {
+        super(_x, _y, _dir, random);
+        this.random = random;
         // Sharks are faster and larger
         this.color = Color.GRAY;
         // Override speed and size in rendering, but here we set base properties
     }
 
     /**
-     * Updates shark behavior - chases nearest fish.
+     * Creates a copy of another shark, e.g. for a frame snapshot.
      */
-    public void MiseAJourShark(List<Poisson> nearbyFish, double largeur, double hauteur) {
-        Poisson target = null;
-        double minDistance = Double.MAX_VALUE;
-
-        // Find nearest prey
-        for (Poisson p : nearbyFish) {
-            if (!(p instanceof Shark)) { // Don't eat other sharks
-                double d = DistanceCarre(p);
-                if (d < minDistance) {
-                    minDistance = d;
-                    target = p;
-                }
-            }
+    public Shark(Shark other) {
+        super(other);
+        this.random = other.random; // Copies are never updated
+    }
+
+    /**
+     * Updates shark behavior - chases nearest fish within the detection
+     * range, scanning the fish index without allocating. The index holds
+     * positions from before the fish moved, so the scan is padded by
+     * {@link FishSpecies#MAX_INDEX_LAG} and prey is ranked by current
+     * position.
+     */
+    public void MiseAJourShark(FishStore fish, SpatialIndex index, double largeur, double hauteur) {
+        beginPreyScan(fish);
+        index.forEachWithin(posX, posY, SimulationConfig.SHARK_DETECTION_RANGE + FishSpecies.MAX_INDEX_LAG,
+                preyScan);
+        chase(fish, largeur, hauteur);
+    }
+
+    private void beginPreyScan(FishStore fish) {
+        preyStore = fish;
+        target = -1;
+        minDistance = Double.MAX_VALUE;
+    }
+
+    /**
+     * Keeps the nearest live fish seen so far as the target.
+     */
+    private void considerPrey(int j) {
+        FishStore fish = preyStore;
+        if (!fish.isAlive(j))
+            return; // Eaten or caught since the index was built
+        double dx = fish.x(j) - posX;
+        double dy = fish.y(j) - posY;
+        double d = dx * dx + dy * dy;
+        if (d < minDistance) {
+            minDistance = d;
+            target = j;
         }
+    }
+
+    private void chase(FishStore fish, double largeur, double hauteur) {
+        preyStore = null;
 
         // Chase behavior
-        if (target != null && minDistance < 40000) { // Detection range 200px
+        double range = SimulationConfig.SHARK_DETECTION_RANGE;
+        if (target >= 0 && minDistance < range * range) {
             double dist = Math.sqrt(minDistance);
-            double dx = (target.posX - posX) / dist;
-            double dy = (target.posY - posY) / dist;
+            double dx = (fish.x(target) - posX) / dist;
+            double dy = (fish.y(target) - posY) / dist;
 
             // Steer towards target
             vitesseX += dx * 0.2;
             vitesseY += dy * 0.2;
         } else {
             // Wander if no target
-            vitesseX += (Math.random() - 0.5) * 0.1;
-            vitesseY += (Math.random() - 0.5) * 0.1;
+            vitesseX += (random.nextDouble() - 0.5) * 0.1;
+            vitesseY += (random.nextDouble() - 0.5) * 0.1;
         }
 
         // Normalize speed (sharks are faster)
@@ -1,10 +1,15 @@
 package com.dtp5.model;
 
-import java.util.List;
-
 /**
- * Immutable context object passed to entities during updates.
+ * Context object passed to entities during updates.
  * Contains all the state an entity might need without tight coupling.
+ * <p>
+ * The ocean builds one per frame and shares it between every entity
+ * update of that frame. Sharks, obstacles and plankton are seen through a
+ * {@link WorldSnapshot} taken at the start of the frame, so phases running
+ * concurrently never observe another phase's mid-frame writes. The index,
+ * field and day/night cycle are live; read them only from phases that
+ * declare them as resources.
  * 
  * @author Ocean Ecosystem Team
  * @version 2.0.0
@@ -14,11 +19,9 @@ public record SimulationContext(
         double height,
         double deltaTime,
         long frameCount,
-        SpatialGrid spatialGrid,
+        SpatialIndex spatialIndex,
         EnvironmentalField environmentalField,
-        List<PlanktonPatch> planktonPatches,
-        List<Shark> sharks,
-        List<ZoneAEviter> obstacles,
+        WorldSnapshot world,
         DayNightCycle dayNightCycle) {
 
     /**
@@ -29,13 +32,11 @@ public record SimulationContext(
             double height,
             double deltaTime,
             long frameCount,
-            SpatialGrid spatialGrid,
+            SpatialIndex spatialIndex,
             EnvironmentalField environmentalField,
-            List<PlanktonPatch> planktonPatches,
-            List<Shark> sharks,
-            List<ZoneAEviter> obstacles) {
-        this(width, height, deltaTime, frameCount, spatialGrid,
-                environmentalField, planktonPatches, sharks, obstacles, null);
+            WorldSnapshot world) {
+        this(width, height, deltaTime, frameCount, spatialIndex,
+                environmentalField, world, null);
     }
 
     /**
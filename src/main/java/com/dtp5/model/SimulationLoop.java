@@ -0,0 +1,293 @@
+package com.dtp5.model;
+
+import com.dtp5.config.SimulationConfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs an {@link Ocean} on a dedicated simulation thread and hands finished
+ * frames to the renderer as {@link FrameSnapshot}s.
+ * <p>
+ * Simulated time advances in fixed steps: wall-clock time is added to an
+ * accumulator and one tick is run per {@code 1 / targetTicksPerSecond}
+ * seconds accumulated. When the thread falls behind it runs catch-up ticks,
+ * at most {@code maxSubsteps} before publishing a frame; any backlog beyond
+ * that is discarded (see {@link #getSkippedTicks()}) so a long stall cannot
+ * snowball into ever longer catch-up bursts. A tick that throws pauses the
+ * loop, so a persistent failure is logged once rather than on every tick.
+ * <p>
+ * The handoff is a single slot: the simulation never waits for the
+ * renderer. While the renderer has not taken the last snapshot, no new one
+ * is captured; the newest state is captured on the first iteration after
+ * it does, so snapshots are copied at most once per rendered frame rather
+ * than once per tick (see {@link #getDroppedFrames()}). Neither rendering
+ * nor EDT stalls can slow simulated time.
+ * <p>
+ * Everything that mutates the ocean from another thread must go through
+ * {@link Ocean#invokeLater(Runnable)} while the loop is running.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public class SimulationLoop {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulationLoop.class);
+
+    /** How long a paused loop sleeps between checks for queued commands */
+    private static final long PAUSE_POLL_NANOS = 10_000_000L;
+
+    private final Ocean ocean;
+    private final Runnable onFrame;
+    private final int maxSubsteps;
+
+    /** Time source, in nanoseconds */
+    private final LongSupplier clock;
+
+    /** Latest published frame not yet taken by the renderer */
+    private final AtomicReference<FrameSnapshot> pending = new AtomicReference<>();
+
+    // Simulation thread only: whether the ocean changed since the last
+    // captured frame, unsimulated time, and when it was last measured
+    private boolean stale;
+    private long accumulator;
+    private long last;
+
+    private final AtomicLong publishedFrames = new AtomicLong();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong skippedTicks = new AtomicLong();
+
+    private volatile long stepNanos;
+    private volatile boolean paused;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Creates a loop with the default substep limit.
+     *
+     * @param ocean                The ocean to simulate
+     * @param targetTicksPerSecond Simulation rate
+     * @param onFrame              Called on the simulation thread after each
+     *                             new snapshot is published (e.g. to request a
+     *                             repaint)
+     */
+    public SimulationLoop(Ocean ocean, double targetTicksPerSecond, Runnable onFrame) {
+        this(ocean, targetTicksPerSecond, SimulationConfig.MAX_SUBSTEPS_PER_FRAME, onFrame);
+    }
+
+    /**
+     * Creates a loop for the given ocean.
+     *
+     * @param ocean                The ocean to simulate
+     * @param targetTicksPerSecond Simulation rate
+     * @param maxSubsteps          Maximum ticks run before publishing a frame
+     * @param onFrame              Called on the simulation thread after each
+     *                             new snapshot is published
+     */
+    public SimulationLoop(Ocean ocean, double targetTicksPerSecond, int maxSubsteps, Runnable onFrame) {
+        this(ocean, targetTicksPerSecond, maxSubsteps, onFrame, System::nanoTime);
+    }
+
+    /**
+     * Creates a loop that reads time from the given clock, e.g. a fake one
+     * for tests driving {@link #iterate()} directly.
+     */
+    SimulationLoop(Ocean ocean, double targetTicksPerSecond, int maxSubsteps, Runnable onFrame,
+            LongSupplier clock) {
+        this.ocean = ocean;
+        this.maxSubsteps = Math.max(1, maxSubsteps);
+        this.onFrame = onFrame;
+        this.clock = clock;
+        this.last = clock.getAsLong();
+        setTargetTicksPerSecond(targetTicksPerSecond);
+    }
+
+    /**
+     * Starts the simulation thread. Publishes a snapshot of the initial
+     * state first so the renderer has something to draw.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        stale = true;
+        accumulator = 0;
+        last = clock.getAsLong();
+        publish();
+        thread = new Thread(this::run, "ocean-simulation");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Simulation loop started at {} ticks/sec", getTargetTicksPerSecond());
+    }
+
+    /**
+     * Stops the simulation thread and waits for the current tick to finish.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Simulation loop stopped ({} frames published, {} dropped, {} ticks skipped)",
+                publishedFrames.get(), droppedFrames.get(), skippedTicks.get());
+    }
+
+    private void run() {
+        while (running) {
+            long wait = iterate();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    /**
+     * Runs one iteration of the loop: applies queued commands if paused,
+     * otherwise runs the ticks that came due since the last iteration, then
+     * publishes a frame if possible. Call from the simulation thread only.
+     *
+     * @return How long to wait before the next iteration, in nanoseconds
+     */
+    long iterate() {
+        long now = clock.getAsLong();
+        if (paused) {
+            // Still apply UI commands so edits show up while paused
+            if (ocean.runPendingCommands()) {
+                stale = true;
+            }
+            publish();
+            accumulator = 0;
+            last = now;
+            return PAUSE_POLL_NANOS;
+        }
+
+        accumulator += now - last;
+        last = now;
+
+        long step = stepNanos;
+        int substeps = 0;
+        boolean failed = false;
+        try {
+            while (accumulator >= step && substeps < maxSubsteps) {
+                ocean.updateOcean();
+                accumulator -= step;
+                substeps++;
+            }
+        } catch (RuntimeException e) {
+            // Retrying at full rate would fail again on every tick: pause
+            // until the user resumes, and show the state the tick left
+            logger.error("Simulation tick failed, pausing the simulation", e);
+            paused = true;
+            accumulator = 0;
+            failed = true;
+        }
+
+        if (accumulator >= step) {
+            // Too far behind: drop the backlog instead of spiralling
+            long behind = accumulator / step;
+            skippedTicks.addAndGet(behind);
+            accumulator -= behind * step;
+        }
+
+        if (substeps > 0) {
+            if (stale) {
+                // The previous ticks' state was never captured
+                droppedFrames.incrementAndGet();
+            }
+            stale = true;
+        }
+        if (failed) {
+            stale = true;
+        }
+        publish();
+        return step - accumulator;
+    }
+
+    /**
+     * Captures and publishes the current state if it changed and the
+     * renderer has taken the last frame; otherwise leaves it for a later
+     * call. Only the simulation thread fills the slot, so it stays empty
+     * between the check and the set.
+     */
+    private void publish() {
+        if (!stale || pending.get() != null) {
+            return;
+        }
+        pending.set(ocean.snapshot());
+        stale = false;
+        publishedFrames.incrementAndGet();
+        onFrame.run();
+    }
+
+    /**
+     * Takes the newest frame published since the last call.
+     *
+     * @return The snapshot, or null if no new frame is available
+     */
+    public FrameSnapshot poll() {
+        return pending.getAndSet(null);
+    }
+
+    /**
+     * Sets the simulation rate.
+     *
+     * @param ticksPerSecond Target ticks per second (must be positive)
+     */
+    public void setTargetTicksPerSecond(double ticksPerSecond) {
+        if (!(ticksPerSecond > 0)) {
+            throw new IllegalArgumentException("ticksPerSecond must be > 0: " + ticksPerSecond);
+        }
+        this.stepNanos = Math.max(1, (long) (1_000_000_000L / ticksPerSecond));
+    }
+
+    public double getTargetTicksPerSecond() {
+        return 1_000_000_000.0 / stepNanos;
+    }
+
+    /**
+     * Tells whether the loop is paused, by {@link #setPaused(boolean)} or
+     * after a failed tick.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Gets the number of snapshots published so far.
+     */
+    public long getPublishedFrames() {
+        return publishedFrames.get();
+    }
+
+    /**
+     * Gets the number of frames whose state was never captured because the
+     * renderer had not yet taken the previous snapshot.
+     */
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * Gets the number of ticks discarded because the simulation fell more
+     * than {@code maxSubsteps} ticks behind real time.
+     */
+    public long getSkippedTicks() {
+        return skippedTicks.get();
+    }
+}
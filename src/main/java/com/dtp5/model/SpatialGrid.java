@@ -1,90 +1,529 @@
 package com.dtp5.model;
 
+import com.dtp5.config.SimulationConfig;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Spatial partitioning grid for efficient neighbor queries.
  * Reduces fish neighbor checks from O(n²) to O(n).
+ * <p>
+ * Cells hold indices into a {@link FishStore} rather than fish objects.
+ * <p>
+ * All cells share one flat array, {@code cellIndices}: cell {@code c} owns
+ * the region {@code [cellStart[c], cellStart[c + 1])} and its fish fill the
+ * first {@code cellCount[c]} entries of it. Cells are numbered column by
+ * column. A full {@link #rebuild} is a counting sort: it counts fish per
+ * cell, turns the counts into region offsets with an exclusive prefix sum
+ * (leaving some free room after each cell), and scatters the indices; the
+ * count and scatter passes can run in parallel over chunks of fish slots.
+ * Each chunk keeps its own counts, and the prefix sum orders chunks within a
+ * cell, so after a rebuild every cell lists its fish in ascending index
+ * order however many chunks were used.
+ * <p>
+ * Between rebuilds, {@link #update} maintains the grid incrementally: each
+ * slot remembers its cell and its position in that cell, and only fish whose
+ * cell changed (or that were born or died) are moved - swap-removed from the
+ * old cell and appended to the new one. Most fish stay in their cell from
+ * one tick to the next, so this skips the scatter pass for almost everyone.
+ * Cell order then no longer follows fish index, but it only depends on the
+ * sequence of updates, so seeded runs stay reproducible. When a cell's
+ * region is full, or after {@link #invalidate()} (bulk spawns, compaction),
+ * the next update falls back to a full rebuild.
+ * <p>
+ * Range queries ({@link #forEachWithin}, {@link #gatherWithin}) take an
+ * explicit radius and scan only the cells overlapping that circle: for each
+ * column the scanned cell range shrinks with the circle's height there, so
+ * the cell size can be well below the largest perception radius without
+ * wasting scans. They return every fish whose cell overlaps the circle;
+ * callers still filter by exact distance.
+ * <p>
+ * Each entry of {@code cellIndices} also keeps the fish's position as of
+ * the last update ({@code entryX}, {@code entryY}), so nearest-neighbor
+ * queries measure a cell's fish from contiguous arrays with a
+ * {@link NeighborKernel} instead of looking each position up by index.
+ * <p>
+ * Hot paths should use these or {@link #forEachNearby} /
+ * {@link #gatherNearby} (fixed 3x3 block of cells), which do not allocate;
+ * {@link #getNearbyFish} returns a fresh array and is kept for convenience.
  */
-public class SpatialGrid {
+public class SpatialGrid implements SpatialIndex {
     private final int cellSize;
-    private final int gridWidth;
-    private final int gridHeight;
-    private final List<Poisson>[][] grid;
+    private int gridWidth;
+    private int gridHeight;
+
+    /** Start of each cell's region in {@link #cellIndices}; one extra entry */
+    private int[] cellStart;
+
+    /** Number of fish in each cell */
+    private int[] cellCount;
+
+    /** Fish indices grouped by cell, with free room at the end of each region */
+    private int[] cellIndices = new int[0];
+
+    /** Position of each {@link #cellIndices} entry's fish at the last update */
+    private double[] entryX = new double[0];
+    private double[] entryY = new double[0];
+
+    /** Distance kernel for nearest-neighbor queries */
+    private NeighborKernel kernel = NeighborKernel.scalar();
+
+    /** Cell of each fish slot, -1 if dead or outside the grid */
+    private int[] slotCell = new int[0];
+
+    /** Position of each indexed slot within its cell */
+    private int[] slotPos = new int[0];
+
+    /** Number of slots {@link #slotCell} describes; 0 until the first rebuild */
+    private int indexedSlots;
+
+    /** Whether the next {@link #update} may work incrementally */
+    private boolean valid;
+
+    /** Per-chunk cell counts, then per-chunk write cursors */
+    private int[][] chunkCursors = new int[0][];
 
-    @SuppressWarnings("unchecked")
     public SpatialGrid(double width, double height, int cellSize) {
         this.cellSize = cellSize;
         this.gridWidth = (int) Math.ceil(width / cellSize) + 1;
         this.gridHeight = (int) Math.ceil(height / cellSize) + 1;
+        this.cellStart = new int[gridWidth * gridHeight + 1];
+        this.cellCount = new int[gridWidth * gridHeight];
+    }
+
+    /**
+     * Resizes the grid for a new world size. The cell arrays are only
+     * reallocated when the grid grows past their capacity, so repeated
+     * resizes (dragging a window edge) do not allocate.
+     */
+    @Override
+    public void resize(double width, double height) {
+        gridWidth = (int) Math.ceil(width / cellSize) + 1;
+        gridHeight = (int) Math.ceil(height / cellSize) + 1;
+        int cells = gridWidth * gridHeight;
+        if (cellCount.length < cells) {
+            cellStart = new int[cells + 1];
+            cellCount = new int[cells];
+        }
+        valid = false;
+    }
+
+    @Override
+    public void setKernel(NeighborKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    /**
+     * Forces the next {@link #update} to rebuild the grid from scratch. Call
+     * after changes that touch many fish slots at once, where moving fish one
+     * by one would cost more than a rebuild.
+     */
+    @Override
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Brings the grid up to date with the store: incrementally if the grid is
+     * valid and {@link SimulationConfig#GRID_INCREMENTAL} is on, otherwise by
+     * a full rebuild.
+     *
+     * @param pool Pool a full rebuild may run on, or null to stay on the
+     *             calling thread
+     */
+    @Override
+    public void update(FishStore fish, ForkJoinPool pool) {
+        if (!SimulationConfig.GRID_INCREMENTAL || !valid || fish.slotCount() > slotCell.length
+                || !moveChanged(fish)) {
+            rebuild(fish, pool);
+        }
+    }
 
-        grid = (List<Poisson>[][]) new List[gridWidth][gridHeight];
-        for (int x = 0; x < gridWidth; x++) {
-            for (int y = 0; y < gridHeight; y++) {
-                grid[x][y] = new ArrayList<>();
+    /**
+     * Moves every slot whose cell changed since the last update.
+     *
+     * @return false if a cell ran out of room; the grid must then be rebuilt
+     */
+    private boolean moveChanged(FishStore fish) {
+        int slots = fish.slotCount();
+        int range = Math.max(slots, indexedSlots);
+        for (int i = 0; i < range; i++) {
+            int old = i < indexedSlots ? slotCell[i] : -1;
+            int cell = i < slots && fish.isAlive(i) ? cellOf(fish.posX[i], fish.posY[i]) : -1;
+            if (cell == old) {
+                if (cell >= 0) {
+                    int k = cellStart[cell] + slotPos[i];
+                    entryX[k] = fish.posX[i];
+                    entryY[k] = fish.posY[i];
+                }
+                continue;
+            }
+            if (old >= 0) {
+                remove(i, old);
+            }
+            slotCell[i] = -1;
+            if (cell >= 0) {
+                if (cellCount[cell] == cellStart[cell + 1] - cellStart[cell]) {
+                    return false;
+                }
+                int pos = cellCount[cell]++;
+                int k = cellStart[cell] + pos;
+                cellIndices[k] = i;
+                entryX[k] = fish.posX[i];
+                entryY[k] = fish.posY[i];
+                slotCell[i] = cell;
+                slotPos[i] = pos;
             }
         }
+        indexedSlots = slots;
+        return true;
     }
 
     /**
-     * Clears all cells in the grid.
+     * Swap-removes a slot from its cell: the cell's last fish takes its place.
      */
-    public void clear() {
-        for (int x = 0; x < gridWidth; x++) {
-            for (int y = 0; y < gridHeight; y++) {
-                grid[x][y].clear();
+    private void remove(int slot, int cell) {
+        int base = cellStart[cell];
+        int last = --cellCount[cell];
+        int pos = slotPos[slot];
+        if (pos != last) {
+            int moved = cellIndices[base + last];
+            cellIndices[base + pos] = moved;
+            entryX[base + pos] = entryX[base + last];
+            entryY[base + pos] = entryY[base + last];
+            slotPos[moved] = pos;
+        }
+    }
+
+    /**
+     * Rebuilds the grid from every live fish in the store on the calling
+     * thread.
+     */
+    public void rebuild(FishStore fish) {
+        rebuild(fish, null);
+    }
+
+    /**
+     * Rebuilds the grid from every live fish in the store, running the count
+     * and scatter passes on the given pool when there are enough fish.
+     *
+     * @param pool Pool to run on, or null to stay on the calling thread
+     */
+    public void rebuild(FishStore fish, ForkJoinPool pool) {
+        int slots = fish.slotCount();
+        int chunks = 1;
+        if (pool != null) {
+            chunks = Math.max(1, Math.min(pool.getParallelism(), slots / SimulationConfig.GRID_REBUILD_CHUNK));
+        }
+        int cells = gridWidth * gridHeight;
+        if (slotCell.length < slots) {
+            int capacity = Math.max(slots, slotCell.length * 2);
+            slotCell = new int[capacity];
+            slotPos = new int[capacity];
+        }
+        if (chunkCursors.length < chunks || chunkCursors[0].length < cells) {
+            chunkCursors = new int[Math.max(chunks, chunkCursors.length)][cells];
+        }
+
+        // Pass 1: count fish per cell, per chunk
+        runChunks(pool, chunks, slots, (k, from, to) -> countChunk(fish, chunkCursors[k], from, to));
+
+        // Exclusive prefix sum in (cell, chunk) order; counts become cursors
+        int total = 0;
+        for (int c = 0; c < cells; c++) {
+            cellStart[c] = total;
+            int count = 0;
+            for (int k = 0; k < chunks; k++) {
+                int chunkCount = chunkCursors[k][c];
+                chunkCursors[k][c] = total + count;
+                count += chunkCount;
+            }
+            cellCount[c] = count;
+            total += count + (SimulationConfig.GRID_INCREMENTAL ? count / 4 + SimulationConfig.GRID_CELL_SLACK : 0);
+        }
+        cellStart[cells] = total;
+        if (cellIndices.length < total) {
+            int capacity = Math.max(total, cellIndices.length * 2);
+            cellIndices = new int[capacity];
+            entryX = new double[capacity];
+            entryY = new double[capacity];
+        }
+
+        // Pass 2: scatter indices into their cell regions
+        runChunks(pool, chunks, slots, (k, from, to) -> scatterChunk(fish, chunkCursors[k], from, to));
+        indexedSlots = slots;
+        valid = true;
+    }
+
+    private void countChunk(FishStore fish, int[] counts, int from, int to) {
+        Arrays.fill(counts, 0);
+        Arrays.fill(slotCell, from, to, -1);
+        for (int i = fish.nextAlive(from); i >= 0 && i < to; i = fish.nextAlive(i + 1)) {
+            int cell = cellOf(fish.posX[i], fish.posY[i]);
+            slotCell[i] = cell;
+            if (cell >= 0) {
+                counts[cell]++;
             }
         }
     }
 
+    private void scatterChunk(FishStore fish, int[] cursors, int from, int to) {
+        for (int i = fish.nextAlive(from); i >= 0 && i < to; i = fish.nextAlive(i + 1)) {
+            int cell = slotCell[i];
+            if (cell >= 0) {
+                int k = cursors[cell]++;
+                cellIndices[k] = i;
+                entryX[k] = fish.posX[i];
+                entryY[k] = fish.posY[i];
+                slotPos[i] = k - cellStart[cell];
+            }
+        }
+    }
+
+    /** One pass over a chunk of fish slots. */
+    @FunctionalInterface
+    interface ChunkPass {
+        void run(int chunk, int from, int to);
+    }
+
     /**
-     * Adds a fish to the appropriate grid cell.
+     * Runs a pass over {@code chunks} equal ranges of slots, in parallel on
+     * the pool when there is more than one chunk.
      */
-    public void addFish(Poisson fish) {
-        int cellX = (int) (fish.posX / cellSize);
-        int cellY = (int) (fish.posY / cellSize);
+    static void runChunks(ForkJoinPool pool, int chunks, int slots, ChunkPass pass) {
+        if (chunks == 1) {
+            pass.run(0, 0, slots);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+        for (int k = 0; k < chunks; k++) {
+            int chunk = k;
+            int from = (int) ((long) slots * k / chunks);
+            int to = (int) ((long) slots * (k + 1) / chunks);
+            tasks.add(ForkJoinTask.adapt(() -> pass.run(chunk, from, to)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
 
+    /**
+     * Gets the cell containing a position, or -1 if it is outside the grid.
+     */
+    private int cellOf(double x, double y) {
+        int cellX = (int) (x / cellSize);
+        int cellY = (int) (y / cellSize);
         if (cellX >= 0 && cellX < gridWidth && cellY >= 0 && cellY < gridHeight) {
-            grid[cellX][cellY].add(fish);
+            return cellX * gridHeight + cellY;
         }
+        return -1;
     }
 
     /**
-     * Gets all fish in neighboring cells (including the fish's own cell).
+     * Passes every fish in the 3x3 block of cells around a position to a
+     * visitor.
      */
-    public List<Poisson> getNearbyFish(Poisson fish) {
-        List<Poisson> nearby = new ArrayList<>();
+    public void forEachNearby(double x, double y, NeighborVisitor visitor) {
+        int cellX = (int) (x / cellSize);
+        int cellY = (int) (y / cellSize);
+        int yMin = Math.max(0, cellY - 1);
+        int yMax = Math.min(gridHeight - 1, cellY + 1);
+        if (yMin > yMax) {
+            return;
+        }
 
-        int cellX = (int) (fish.posX / cellSize);
-        int cellY = (int) (fish.posY / cellSize);
+        for (int checkX = Math.max(0, cellX - 1); checkX <= Math.min(gridWidth - 1, cellX + 1); checkX++) {
+            int column = checkX * gridHeight;
+            visitCells(column + yMin, column + yMax, visitor);
+        }
+    }
 
-        // Check 3x3 grid of cells around the fish
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                int checkX = cellX + dx;
-                int checkY = cellY + dy;
+    /**
+     * Copies the indices of all fish in the 3x3 block of cells around a
+     * position into a reusable buffer, replacing its previous contents.
+     *
+     * @return The number of indices gathered
+     */
+    public int gatherNearby(double x, double y, Neighbors out) {
+        int cellX = (int) (x / cellSize);
+        int cellY = (int) (y / cellSize);
+        int yMin = Math.max(0, cellY - 1);
+        int yMax = Math.min(gridHeight - 1, cellY + 1);
 
-                if (checkX >= 0 && checkX < gridWidth &&
-                        checkY >= 0 && checkY < gridHeight) {
-                    nearby.addAll(grid[checkX][checkY]);
-                }
+        out.size = 0;
+        if (yMin > yMax) {
+            return 0;
+        }
+        for (int checkX = Math.max(0, cellX - 1); checkX <= Math.min(gridWidth - 1, cellX + 1); checkX++) {
+            int column = checkX * gridHeight;
+            appendCells(column + yMin, column + yMax, out);
+        }
+        return out.size;
+    }
+
+    /**
+     * Passes every fish in the cells overlapping a circle to a visitor.
+     *
+     * @param radius Query radius in pixels
+     */
+    @Override
+    public void forEachWithin(double x, double y, double radius, NeighborVisitor visitor) {
+        int xMin = Math.max(0, (int) Math.floor((x - radius) / cellSize));
+        int xMax = Math.min(gridWidth - 1, (int) Math.floor((x + radius) / cellSize));
+        double radiusSq = radius * radius;
+
+        for (int checkX = xMin; checkX <= xMax; checkX++) {
+            double half = halfHeight(checkX, x, radiusSq);
+            int yMin = Math.max(0, (int) Math.floor((y - half) / cellSize));
+            int yMax = Math.min(gridHeight - 1, (int) Math.floor((y + half) / cellSize));
+            if (yMin > yMax) {
+                continue;
+            }
+            int column = checkX * gridHeight;
+            visitCells(column + yMin, column + yMax, visitor);
+        }
+    }
+
+    /**
+     * Copies the indices of all fish in the cells overlapping a circle into
+     * a reusable buffer, replacing its previous contents.
+     *
+     * @param radius Query radius in pixels
+     * @return The number of indices gathered
+     */
+    @Override
+    public int gatherWithin(double x, double y, double radius, Neighbors out) {
+        int xMin = Math.max(0, (int) Math.floor((x - radius) / cellSize));
+        int xMax = Math.min(gridWidth - 1, (int) Math.floor((x + radius) / cellSize));
+        double radiusSq = radius * radius;
+
+        out.size = 0;
+        for (int checkX = xMin; checkX <= xMax; checkX++) {
+            double half = halfHeight(checkX, x, radiusSq);
+            int yMin = Math.max(0, (int) Math.floor((y - half) / cellSize));
+            int yMax = Math.min(gridHeight - 1, (int) Math.floor((y + half) / cellSize));
+            if (yMin > yMax) {
+                continue;
             }
+            int column = checkX * gridHeight;
+            appendCells(column + yMin, column + yMax, out);
+        }
+        return out.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Cells are searched in square rings growing outward from the
+     * position's cell. A bounded max-heap holds the best {@code k} so far;
+     * once it is full, any ring or cell that cannot hold anything closer
+     * than its worst entry is skipped, and the search stops at the first
+     * such ring. Fish are measured at their positions as of the last
+     * {@link #update}.
+     */
+    @Override
+    public int gatherNearest(FishStore fish, double x, double y, double maxDistance, int k, int exclude,
+            Nearest out) {
+        out.reset(k);
+        if (k <= 0) {
+            return 0;
         }
+        double maxSq = maxDistance * maxDistance;
+        // Rings grow around the nearest cell, for positions off the grid too
+        int cellX = Math.clamp((long) Math.floor(x / cellSize), 0, gridWidth - 1);
+        int cellY = Math.clamp((long) Math.floor(y / cellSize), 0, gridHeight - 1);
+        double fx = x - (double) cellX * cellSize;
+        double fy = y - (double) cellY * cellSize;
+        // Distance from the position to the nearest edge of that cell (0 if outside it)
+        double edge = Math.max(0, Math.min(Math.min(fx, cellSize - fx), Math.min(fy, cellSize - fy)));
+        int maxRing = Math.max(gridWidth, gridHeight);
 
-        return nearby;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            double ringMin = ring == 0 ? 0 : (ring - 1) * (double) cellSize + edge;
+            if (out.prunes(ringMin * ringMin, maxSq)) {
+                break;
+            }
+            for (int cx = cellX - ring; cx <= cellX + ring; cx++) {
+                if (cx < 0 || cx >= gridWidth) {
+                    continue;
+                }
+                boolean side = cx == cellX - ring || cx == cellX + ring;
+                int step = side ? 1 : 2 * ring;
+                for (int cy = cellY - ring; cy <= cellY + ring; cy += Math.max(1, step)) {
+                    if (cy < 0 || cy >= gridHeight) {
+                        continue;
+                    }
+                    // The first column and row also hold fish up to a cell
+                    // before the grid (see cellOf)
+                    double left = cx == 0 ? -cellSize : (double) cx * cellSize;
+                    double top = cy == 0 ? -cellSize : (double) cy * cellSize;
+                    double right = (double) (cx + 1) * cellSize;
+                    double bottom = (double) (cy + 1) * cellSize;
+                    double dx = x < left ? left - x : Math.max(0, x - right);
+                    double dy = y < top ? top - y : Math.max(0, y - bottom);
+                    if (out.prunes(dx * dx + dy * dy, maxSq)) {
+                        continue;
+                    }
+                    int cell = cx * gridHeight + cy;
+                    int start = cellStart[cell];
+                    int count = cellCount[cell];
+                    out.ensureHits(count);
+                    int hits = kernel.closerThan(entryX, entryY, start, start + count, x, y, maxSq,
+                            out.hits, out.hitDistancesSq);
+                    for (int h = 0; h < hits; h++) {
+                        int j = cellIndices[out.hits[h]];
+                        if (j != exclude) {
+                            out.offer(j, out.hitDistancesSq[h]);
+                        }
+                    }
+                    out.scanned += count;
+                }
+            }
+        }
+        out.sort();
+        return out.size();
     }
 
     /**
-     * Gets all fish in the grid.
+     * Passes the fish of cells {@code first..last} (inclusive) to a visitor.
      */
-    public List<Poisson> getAllFish() {
-        List<Poisson> allFish = new ArrayList<>();
-        for (int x = 0; x < gridWidth; x++) {
-            for (int y = 0; y < gridHeight; y++) {
-                allFish.addAll(grid[x][y]);
+    private void visitCells(int first, int last, NeighborVisitor visitor) {
+        for (int cell = first; cell <= last; cell++) {
+            for (int k = cellStart[cell], end = k + cellCount[cell]; k < end; k++) {
+                visitor.visit(cellIndices[k]);
             }
         }
-        return allFish;
+    }
+
+    /**
+     * Appends the fish of cells {@code first..last} (inclusive) to a buffer.
+     */
+    private void appendCells(int first, int last, Neighbors out) {
+        for (int cell = first; cell <= last; cell++) {
+            out.append(cellIndices, cellStart[cell], cellCount[cell]);
+        }
+    }
+
+    /**
+     * Gets the half-height of a circle over the part of a grid column
+     * closest to its center.
+     */
+    private double halfHeight(int column, double x, double radiusSq) {
+        double left = (double) column * cellSize;
+        double right = left + cellSize;
+        double dx = x < left ? left - x : (x > right ? x - right : 0);
+        return Math.sqrt(Math.max(0, radiusSq - dx * dx));
+    }
+
+    /**
+     * Gets the indices of all fish in neighboring cells (including the cell
+     * containing the given position).
+     */
+    public int[] getNearbyFish(double x, double y) {
+        Neighbors buffer = new Neighbors();
+        int count = gatherNearby(x, y, buffer);
+        return Arrays.copyOf(buffer.indices, count);
     }
 }
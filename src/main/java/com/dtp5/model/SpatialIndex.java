@@ -0,0 +1,269 @@
+package com.dtp5.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Index over fish positions answering the neighbor queries the simulation
+ * needs: every fish near a point, and the {@code k} nearest fish.
+ * <p>
+ * Implementations trade build cost against query cost differently:
+ * <ul>
+ * <li>{@link SpatialGrid} - uniform cells, cheap to maintain every tick;
+ * best when fish are spread over the whole world</li>
+ * <li>{@link QuadTree} - cells split where fish are dense; copes with a
+ * whole population packed into one school</li>
+ * <li>{@link KdTree} - median splits, balanced whatever the distribution;
+ * the most expensive build, the cheapest nearest-neighbor queries</li>
+ * </ul>
+ * {@link SpatialIndexType} picks one at runtime.
+ * <p>
+ * An index is brought up to date by the phase that owns the fish, and may
+ * then be queried from any number of threads until the next update. Query
+ * results are fish indices into the {@link FishStore} it was built from.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public interface SpatialIndex {
+
+    /**
+     * Brings the index up to date with every live fish in the store.
+     *
+     * @param pool Pool the update may run on, or null to stay on the calling
+     *             thread
+     */
+    void update(FishStore fish, ForkJoinPool pool);
+
+    /**
+     * Tells the index that many fish slots changed at once, so the next
+     * {@link #update} should not try to reuse previous work.
+     */
+    default void invalidate() {
+    }
+
+    /**
+     * Sets the kernel nearest-neighbor queries measure candidates with.
+     * Every kernel gives the same results.
+     */
+    void setKernel(NeighborKernel kernel);
+
+    /**
+     * Adapts the index to a new world size. The next {@link #update} then
+     * re-indexes every fish.
+     */
+    default void resize(double width, double height) {
+        invalidate();
+    }
+
+    /**
+     * Passes every fish that may lie within a circle to a visitor. Candidates
+     * may lie outside the radius; callers filter by exact distance.
+     *
+     * @param radius Query radius in pixels
+     */
+    void forEachWithin(double x, double y, double radius, NeighborVisitor visitor);
+
+    /**
+     * Copies the indices of every fish that may lie within a circle into a
+     * reusable buffer, replacing its previous contents. Candidates may lie
+     * outside the radius; callers filter by exact distance.
+     *
+     * @param radius Query radius in pixels
+     * @return The number of indices gathered
+     */
+    int gatherWithin(double x, double y, double radius, Neighbors out);
+
+    /**
+     * Finds the {@code k} fish closest to a position, among those strictly
+     * closer than {@code maxDistance}, into a reusable buffer sorted nearest
+     * first. Equal distances go to the lower index, so the result does not
+     * depend on how the index orders fish internally.
+     *
+     * @param fish        Store the index was built from
+     * @param maxDistance Search radius in pixels
+     * @param k           Maximum number of fish to return
+     * @param exclude     Index to leave out (the querying fish), or -1
+     * @return The number of fish found
+     */
+    int gatherNearest(FishStore fish, double x, double y, double maxDistance, int k, int exclude,
+            Nearest out);
+
+    /**
+     * Growable index buffer for gather queries. Keep one per thread and reuse
+     * it across queries; it only ever grows.
+     */
+    final class Neighbors {
+        int[] indices = new int[64];
+        int size;
+
+        /**
+         * Gets the backing array; only the first {@link #size()} entries are
+         * valid.
+         */
+        public int[] indices() {
+            return indices;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        void append(int[] source, int from, int count) {
+            if (size + count > indices.length) {
+                indices = Arrays.copyOf(indices, Math.max(size + count, indices.length * 2));
+            }
+            System.arraycopy(source, from, indices, size, count);
+            size += count;
+        }
+
+        void add(int index) {
+            if (size == indices.length) {
+                indices = Arrays.copyOf(indices, indices.length * 2);
+            }
+            indices[size++] = index;
+        }
+    }
+
+    /**
+     * Bounded buffer for {@link #gatherNearest}: a max-heap of the best
+     * {@code k} candidates while searching, sorted nearest first afterwards.
+     * Keep one per thread and reuse it across queries.
+     */
+    final class Nearest {
+        private int[] indices = new int[8];
+        private double[] distancesSq = new double[8];
+        private int size;
+        private int k;
+
+        /** Candidates examined by the last query, a cost estimate */
+        int scanned;
+
+        // Scratch for NeighborKernel results: offsets and squared distances
+        int[] hits = new int[16];
+        double[] hitDistancesSq = new double[16];
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Gets the index of the {@code n}-th nearest fish.
+         */
+        public int index(int n) {
+            return indices[n];
+        }
+
+        /**
+         * Gets the squared distance to the {@code n}-th nearest fish.
+         */
+        public double distanceSq(int n) {
+            return distancesSq[n];
+        }
+
+        /**
+         * Gets the number of candidates the last query examined.
+         */
+        public int scanned() {
+            return scanned;
+        }
+
+        /**
+         * Makes room for {@code count} kernel results.
+         */
+        void ensureHits(int count) {
+            if (hits.length < count) {
+                int capacity = Math.max(count, hits.length * 2);
+                hits = new int[capacity];
+                hitDistancesSq = new double[capacity];
+            }
+        }
+
+        /**
+         * Empties the buffer for a query keeping at most {@code k} entries.
+         */
+        void reset(int k) {
+            if (indices.length < k) {
+                indices = new int[k];
+                distancesSq = new double[k];
+            }
+            this.k = k;
+            size = 0;
+            scanned = 0;
+        }
+
+        /**
+         * Tells whether nothing at the given squared distance or farther can
+         * still enter the buffer.
+         */
+        boolean prunes(double distanceSq, double maxSq) {
+            return size == k ? distanceSq > distancesSq[0] : distanceSq >= maxSq;
+        }
+
+        /**
+         * Offers a candidate, keeping the {@code k} best.
+         */
+        void offer(int index, double distanceSq) {
+            if (size < k) {
+                int n = size++;
+                // Sift up
+                while (n > 0) {
+                    int parent = (n - 1) >>> 1;
+                    if (!worse(distanceSq, index, distancesSq[parent], indices[parent])) {
+                        break;
+                    }
+                    indices[n] = indices[parent];
+                    distancesSq[n] = distancesSq[parent];
+                    n = parent;
+                }
+                indices[n] = index;
+                distancesSq[n] = distanceSq;
+            } else if (worse(distancesSq[0], indices[0], distanceSq, index)) {
+                siftDown(index, distanceSq, size);
+            }
+        }
+
+        /**
+         * Places an entry at the root and sifts it down within the first
+         * {@code end} entries.
+         */
+        private void siftDown(int index, double distanceSq, int end) {
+            int n = 0;
+            while (true) {
+                int child = 2 * n + 1;
+                if (child >= end) {
+                    break;
+                }
+                if (child + 1 < end && worse(distancesSq[child + 1], indices[child + 1],
+                        distancesSq[child], indices[child])) {
+                    child++;
+                }
+                if (!worse(distancesSq[child], indices[child], distanceSq, index)) {
+                    break;
+                }
+                indices[n] = indices[child];
+                distancesSq[n] = distancesSq[child];
+                n = child;
+            }
+            indices[n] = index;
+            distancesSq[n] = distanceSq;
+        }
+
+        /**
+         * Turns the heap into a list sorted nearest first (heapsort).
+         */
+        void sort() {
+            for (int end = size - 1; end > 0; end--) {
+                int index = indices[end];
+                double distanceSq = distancesSq[end];
+                indices[end] = indices[0];
+                distancesSq[end] = distancesSq[0];
+                siftDown(index, distanceSq, end);
+            }
+        }
+
+        private static boolean worse(double d1, int i1, double d2, int i2) {
+            return d1 > d2 || (d1 == d2 && i1 > i2);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.dtp5.model;
+
+import com.dtp5.config.SimulationConfig;
+
+import java.util.Locale;
+
+/**
+ * The available {@link SpatialIndex} backends for fish.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public enum SpatialIndexType {
+    GRID("grid"),
+    QUADTREE("quadtree"),
+    KD_TREE("kdtree");
+
+    /** Name used on the command line */
+    public final String id;
+
+    SpatialIndexType(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Creates an empty index of this type for a world of the given size.
+     */
+    public SpatialIndex create(double width, double height) {
+        return switch (this) {
+            case GRID -> new SpatialGrid(width, height, SimulationConfig.GRID_CELL_SIZE);
+            case QUADTREE -> new QuadTree();
+            case KD_TREE -> new KdTree();
+        };
+    }
+
+    /**
+     * Looks a type up by its command-line name.
+     *
+     * @throws IllegalArgumentException if there is no such type
+     */
+    public static SpatialIndexType parse(String id) {
+        String key = id.trim().toLowerCase(Locale.ROOT);
+        for (SpatialIndexType type : values()) {
+            if (type.id.equals(key)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown spatial index: " + id + " (expected grid, quadtree or kdtree)");
+    }
+}
@@ -0,0 +1,68 @@
+package com.dtp5.model;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link NeighborKernel} computing a full SIMD register of distances at a
+ * time with the incubating Vector API.
+ * <p>
+ * Each block of {@code LANES} points is measured and compared with one
+ * vector operation each; blocks with no hit, most of them in sparse cells,
+ * cost no scalar work at all. The multiply and add are not fused, so every
+ * distance rounds exactly as in {@link ScalarNeighborKernel}. Points past
+ * the last full block go through the scalar loop.
+ * <p>
+ * Only load this class after {@link NeighborKernel#vectorAvailable()}
+ * returned true.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+final class VectorNeighborKernel implements NeighborKernel {
+
+    static final VectorNeighborKernel INSTANCE = new VectorNeighborKernel();
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    private VectorNeighborKernel() {
+    }
+
+    @Override
+    public int closerThan(double[] xs, double[] ys, int from, int to, double x, double y, double maxSq,
+            int[] hits, double[] distancesSq) {
+        int count = 0;
+        int i = from;
+        for (int bound = to - LANES; i <= bound; i += LANES) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i).sub(x);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, i).sub(y);
+            DoubleVector d = dx.mul(dx).add(dy.mul(dy));
+            VectorMask<Double> inside = d.compare(VectorOperators.LT, maxSq);
+            long bits = inside.toLong();
+            if (bits != 0) {
+                // Store the whole block after the hits so far (there is room:
+                // count <= i - from), then compact its hits down in lane order
+                int base = count;
+                d.intoArray(distancesSq, base);
+                for (; bits != 0; bits &= bits - 1) {
+                    int lane = Long.numberOfTrailingZeros(bits);
+                    hits[count] = i + lane;
+                    distancesSq[count++] = distancesSq[base + lane];
+                }
+            }
+        }
+        for (; i < to; i++) {
+            double dx = xs[i] - x;
+            double dy = ys[i] - y;
+            double d = dx * dx + dy * dy;
+            if (d < maxSq) {
+                hits[count] = i;
+                distancesSq[count++] = d;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,435 @@
+package com.dtp5.model;
+
+import com.dtp5.config.SimulationConfig;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Per-fish neighbor lists cached across ticks (Verlet lists).
+ * <p>
+ * A fish moves at most {@link FishSpecies#MAX_SPEED} pixels per tick, so its
+ * neighbors barely change from one tick to the next. Each list holds every
+ * fish that was within the owner's perception range plus a margin (the
+ * <em>skin</em>) when the lists were built, and is reused until fish have
+ * moved far enough to make that unsafe: as long as the two largest
+ * displacements since the build add up to at most the skin, no fish can
+ * have come within perception range of another without already being on
+ * its list. Nearest-neighbor queries then only scan the owner's list, and
+ * give exactly the result a {@link SpatialIndex} query would.
+ * <p>
+ * Each list is ordered by distance at build time, in rings of
+ * {@link #RING_WIDTH} pixels (a counting sort, cheaper than a full sort).
+ * Since the build a neighbor can have come closer by at most the owner's
+ * displacement plus the largest displacement of any fish, so a query stops
+ * at the first ring that bound rules out, usually a few entries past the
+ * {@code k}-th.
+ * <p>
+ * Lists are stored back to back in one shared {@code int} arena, next to
+ * each entry's ring; fish {@code i} owns
+ * {@code arena[listStart[i] .. listStart[i] + listLength[i])}, followed by
+ * {@link #LIST_SLACK} free entries.
+ * Killed fish stay on lists until the next build and are skipped by
+ * queries. A fish spawned since the build is listed on the next refresh
+ * without a rebuild: it gets its own list and joins, in ring order, the
+ * list of every fish whose build position is within reach of its own,
+ * treating its spawn position as its build position. A list that
+ * outgrows its slack moves to the end of the arena. Only a slot
+ * rearrangement (see {@link FishStore#layoutVersion()}) forces a rebuild.
+ * <p>
+ * Lists are refreshed by the fish phase and may then be queried from any
+ * number of threads until the next refresh.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public final class VerletLists {
+
+    private final double skin;
+
+    /** Largest perception range of any species plus the skin */
+    private final double maxReach;
+
+    /** Width of the distance rings lists are ordered by, in pixels */
+    private static final double RING_WIDTH = 4;
+
+    /** Free entries left after each list at build time, for fish spawned later */
+    private static final int LIST_SLACK = 4;
+
+    /** All lists, back to back, and each entry's ring at build time */
+    private int[] arena = new int[0];
+    private short[] arenaRing = new short[0];
+    private int arenaSize;
+
+    // Per slot: where its list starts in the arena, how long it is and how
+    // long it may grow in place
+    private int[] listStart = new int[0];
+    private int[] listLength = new int[0];
+    private int[] listCapacity = new int[0];
+
+    /** Per slot: id of the fish the list was built for, or -1 */
+    private long[] listedId = new long[0];
+
+    // Per slot: position when the lists were built, or when the fish was listed
+    private double[] builtX = new double[0];
+    private double[] builtY = new double[0];
+
+    /** Whether the lists were built, and for which store layout */
+    private boolean built;
+    private int builtLayout;
+
+    /** Largest displacement of any fish since the build, as of the last refresh */
+    private double maxMoved;
+
+    /** Fish found unlisted by the last refresh */
+    private int[] newborns = new int[16];
+    private int newbornCount;
+    private final SpatialIndex.Neighbors candidates = new SpatialIndex.Neighbors();
+
+    /** Per-chunk scratch for parallel builds */
+    private Chunk[] chunks = new Chunk[0];
+
+    /**
+     * @param skin Margin added to each fish's perception range, in pixels
+     */
+    public VerletLists(double skin) {
+        this.skin = skin;
+        double range = 0;
+        for (FishSpecies species : FishSpecies.values()) {
+            range = Math.max(range, species.getMaxDistance());
+        }
+        this.maxReach = range + skin;
+    }
+
+    /**
+     * Forces the next {@link #refresh} to rebuild every list.
+     */
+    public void invalidate() {
+        built = false;
+    }
+
+    /**
+     * Rebuilds the lists if fish moved too far or changed slots since they
+     * were built, and otherwise lists the fish spawned since the last
+     * refresh.
+     *
+     * @param index Fish index, up to date with the store's current buffers
+     * @param pool  Pool a rebuild may run on, or null to stay on the calling
+     *              thread
+     * @return Whether the lists were rebuilt
+     */
+    public boolean refresh(FishStore fish, SpatialIndex index, ForkJoinPool pool) {
+        ensureSlots(fish.slotCount());
+        if (built && builtLayout == fish.layoutVersion() && !movedTooFar(fish)) {
+            for (int b = 0; b < newbornCount; b++) {
+                addNewborn(fish, index, newborns[b]);
+            }
+            return false;
+        }
+        rebuild(fish, index, pool);
+        return true;
+    }
+
+    /**
+     * Tells whether two listed fish may together have closed more than the
+     * skin since the build, and collects the unlisted ones.
+     */
+    private boolean movedTooFar(FishStore fish) {
+        double first = 0;
+        double second = 0;
+        newbornCount = 0;
+        for (int i = fish.nextAlive(0); i >= 0; i = fish.nextAlive(i + 1)) {
+            if (listedId[i] != fish.id(i)) {
+                if (newbornCount == newborns.length) {
+                    newborns = Arrays.copyOf(newborns, newbornCount * 2);
+                }
+                newborns[newbornCount++] = i;
+                continue;
+            }
+            double dx = fish.posX[i] - builtX[i];
+            double dy = fish.posY[i] - builtY[i];
+            double d = dx * dx + dy * dy;
+            if (d > second) {
+                if (d > first) {
+                    second = first;
+                    first = d;
+                } else {
+                    second = d;
+                }
+            }
+        }
+        maxMoved = Math.sqrt(first);
+        return maxMoved + Math.sqrt(second) > skin;
+    }
+
+    /** Grows the per-slot arrays to cover {@code slots} slots, keeping their contents. */
+    private void ensureSlots(int slots) {
+        int length = listStart.length;
+        if (length < slots) {
+            int capacity = Math.max(slots, length * 2);
+            listStart = Arrays.copyOf(listStart, capacity);
+            listLength = Arrays.copyOf(listLength, capacity);
+            listCapacity = Arrays.copyOf(listCapacity, capacity);
+            listedId = Arrays.copyOf(listedId, capacity);
+            Arrays.fill(listedId, length, capacity, -1);
+            builtX = Arrays.copyOf(builtX, capacity);
+            builtY = Arrays.copyOf(builtY, capacity);
+        }
+    }
+
+    private void rebuild(FishStore fish, SpatialIndex index, ForkJoinPool pool) {
+        int slots = fish.slotCount();
+        // Free slots own no list space, so a spawn into one starts afresh
+        Arrays.fill(listLength, 0);
+        Arrays.fill(listCapacity, 0);
+        Arrays.fill(listedId, -1);
+        int chunkCount = 1;
+        if (pool != null) {
+            chunkCount = Math.max(1, Math.min(pool.getParallelism(), slots / SimulationConfig.VERLET_REBUILD_CHUNK));
+        }
+        if (chunks.length < chunkCount) {
+            Chunk[] grown = Arrays.copyOf(chunks, chunkCount);
+            for (int k = chunks.length; k < chunkCount; k++) {
+                grown[k] = new Chunk();
+            }
+            chunks = grown;
+        }
+
+        // Each chunk builds its fish's lists into its own buffer...
+        SpatialGrid.runChunks(pool, chunkCount, slots,
+                (k, from, to) -> buildChunk(fish, index, chunks[k], from, to));
+
+        // ...then the buffers are laid out back to back in the arena
+        int total = 0;
+        for (int k = 0; k < chunkCount; k++) {
+            total += chunks[k].size;
+        }
+        if (arena.length < total) {
+            int capacity = Math.max(total, arena.length * 2);
+            arena = new int[capacity];
+            arenaRing = new short[capacity];
+        }
+        int offset = 0;
+        for (int k = 0; k < chunkCount; k++) {
+            Chunk chunk = chunks[k];
+            System.arraycopy(chunk.items, 0, arena, offset, chunk.size);
+            System.arraycopy(chunk.rings, 0, arenaRing, offset, chunk.size);
+            int from = (int) ((long) slots * k / chunkCount);
+            int to = (int) ((long) slots * (k + 1) / chunkCount);
+            for (int i = fish.nextAlive(from); i >= 0 && i < to; i = fish.nextAlive(i + 1)) {
+                listStart[i] += offset;
+            }
+            offset += chunk.size;
+        }
+        arenaSize = total;
+        built = true;
+        builtLayout = fish.layoutVersion();
+        maxMoved = 0;
+    }
+
+    /**
+     * Lists a fish spawned since the last refresh, as if its spawn position
+     * were its build position. A fish must be on the list of owner {@code i}
+     * if their build positions are within {@code i}'s reach: since the two
+     * have together moved at most the skin since then, a farther one cannot
+     * be within {@code i}'s perception range yet.
+     */
+    private void addNewborn(FishStore fish, SpatialIndex index, int n) {
+        double[] px = fish.posX;
+        double[] py = fish.posY;
+        double x = px[n];
+        double y = py[n];
+        double reach = fish.species(n).getMaxDistance() + skin;
+        builtX[n] = x;
+        builtY[n] = y;
+        listedId[n] = fish.id(n);
+        // A reused slot keeps the room of its last list
+        listLength[n] = 0;
+
+        // Any fish whose build position is within the largest reach
+        int count = index.gatherWithin(x, y, maxReach + maxMoved, candidates);
+        int[] found = candidates.indices();
+        for (int c = 0; c < count; c++) {
+            int j = found[c];
+            if (j == n || listedId[j] != fish.id(j)) {
+                // Newborns not listed yet list this one themselves
+                continue;
+            }
+            double dx = builtX[j] - x;
+            double dy = builtY[j] - y;
+            double d = dx * dx + dy * dy;
+            int ring = (int) (Math.sqrt(d) / RING_WIDTH);
+            if (d <= reach * reach) {
+                insert(n, j, ring);
+            }
+            double reachJ = fish.species(j).getMaxDistance() + skin;
+            if (d <= reachJ * reachJ) {
+                insert(j, n, ring);
+            }
+        }
+    }
+
+    /**
+     * Adds fish {@code j} to the list of fish {@code i}, keeping it ordered
+     * by ring.
+     */
+    private void insert(int i, int j, int ring) {
+        int start = listStart[i];
+        int length = listLength[i];
+        // Drop the entry a killed fish may have left for the same slot
+        for (int e = start; e < start + length; e++) {
+            if (arena[e] == j) {
+                System.arraycopy(arena, e + 1, arena, e, start + length - e - 1);
+                System.arraycopy(arenaRing, e + 1, arenaRing, e, start + length - e - 1);
+                length--;
+                break;
+            }
+        }
+        if (length == listCapacity[i]) {
+            // Out of room: move the list to the end of the arena
+            int capacity = Math.max(LIST_SLACK, length * 2);
+            if (arena.length < arenaSize + capacity) {
+                int grown = Math.max(arenaSize + capacity, arena.length * 2);
+                arena = Arrays.copyOf(arena, grown);
+                arenaRing = Arrays.copyOf(arenaRing, grown);
+            }
+            System.arraycopy(arena, start, arena, arenaSize, length);
+            System.arraycopy(arenaRing, start, arenaRing, arenaSize, length);
+            start = arenaSize;
+            arenaSize += capacity;
+            listStart[i] = start;
+            listCapacity[i] = capacity;
+        }
+        int at = start + length;
+        while (at > start && arenaRing[at - 1] > ring) {
+            arena[at] = arena[at - 1];
+            arenaRing[at] = arenaRing[at - 1];
+            at--;
+        }
+        arena[at] = j;
+        arenaRing[at] = (short) ring;
+        listLength[i] = length + 1;
+    }
+
+    private void buildChunk(FishStore fish, SpatialIndex index, Chunk chunk, int from, int to) {
+        double[] px = fish.posX;
+        double[] py = fish.posY;
+        chunk.size = 0;
+        for (int i = fish.nextAlive(from); i >= 0 && i < to; i = fish.nextAlive(i + 1)) {
+            double x = px[i];
+            double y = py[i];
+            double reach = fish.species(i).getMaxDistance() + skin;
+            double reachSq = reach * reach;
+            int count = index.gatherWithin(x, y, reach, chunk.candidates);
+            int[] candidates = chunk.candidates.indices();
+            int rings = (int) (reach / RING_WIDTH) + 1;
+            chunk.ensureRoom(count + LIST_SLACK, rings);
+
+            // Count the neighbors in each ring...
+            int[] ringStart = chunk.ringStart;
+            Arrays.fill(ringStart, 0, rings + 1, 0);
+            int found = 0;
+            for (int n = 0; n < count; n++) {
+                int j = candidates[n];
+                if (j != i) {
+                    double dx = px[j] - x;
+                    double dy = py[j] - y;
+                    double d = dx * dx + dy * dy;
+                    if (d <= reachSq) {
+                        int ring = (int) (Math.sqrt(d) / RING_WIDTH);
+                        chunk.found[found] = j;
+                        chunk.foundRing[found++] = ring;
+                        ringStart[ring + 1]++;
+                    }
+                }
+            }
+            // ...then place them ring by ring
+            listStart[i] = chunk.size;
+            ringStart[0] = chunk.size;
+            for (int r = 0; r < rings; r++) {
+                ringStart[r + 1] += ringStart[r];
+            }
+            for (int n = 0; n < found; n++) {
+                int ring = chunk.foundRing[n];
+                int at = ringStart[ring]++;
+                chunk.items[at] = chunk.found[n];
+                chunk.rings[at] = (short) ring;
+            }
+            chunk.size += found + LIST_SLACK;
+            listLength[i] = found;
+            listCapacity[i] = found + LIST_SLACK;
+            listedId[i] = fish.id(i);
+            builtX[i] = x;
+            builtY[i] = y;
+        }
+    }
+
+    /**
+     * Finds the {@code k} fish closest to fish {@code i}, among those
+     * strictly closer than {@code maxDistance}, sorted nearest first, with
+     * the same tie-break as {@link SpatialIndex#gatherNearest}.
+     * {@code maxDistance} must not exceed the fish's perception range.
+     *
+     * @return The number of fish found
+     */
+    public int gatherNearest(FishStore fish, int i, double maxDistance, int k, SpatialIndex.Nearest out) {
+        out.reset(k);
+        double[] px = fish.posX;
+        double[] py = fish.posY;
+        double x = px[i];
+        double y = py[i];
+        double maxSq = maxDistance * maxDistance;
+        // How much closer than at build time any neighbor can now be
+        double slack = Math.hypot(x - builtX[i], y - builtY[i]) + maxMoved;
+        int start = listStart[i];
+        int end = start + listLength[i];
+        int n = start;
+        if (k > 0) {
+            for (; n < end; n++) {
+                double bound = arenaRing[n] * RING_WIDTH - slack;
+                if (bound > 0 && out.prunes(bound * bound, maxSq)) {
+                    break;
+                }
+                int j = arena[n];
+                double dx = px[j] - x;
+                double dy = py[j] - y;
+                double d = dx * dx + dy * dy;
+                if (d < maxSq && fish.isAlive(j)) {
+                    out.offer(j, d);
+                }
+            }
+        }
+        out.scanned = n - start;
+        out.sort();
+        return out.size();
+    }
+
+    /** Scratch for one build chunk. */
+    private static final class Chunk {
+        final SpatialIndex.Neighbors candidates = new SpatialIndex.Neighbors();
+        /** The chunk's lists, and each entry's ring */
+        int[] items = new int[256];
+        short[] rings = new short[256];
+        int size;
+
+        // Neighbors of the fish being built, and where each ring starts
+        int[] found = new int[64];
+        int[] foundRing = new int[64];
+        int[] ringStart = new int[64];
+
+        void ensureRoom(int count, int ringCount) {
+            if (size + count > items.length) {
+                int capacity = Math.max(size + count, items.length * 2);
+                items = Arrays.copyOf(items, capacity);
+                rings = Arrays.copyOf(rings, capacity);
+            }
+            if (found.length < count) {
+                found = new int[count];
+                foundRing = new int[count];
+            }
+            if (ringStart.length < ringCount + 1) {
+                ringStart = new int[ringCount + 1];
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.dtp5.model;
+
+import com.dtp5.config.SimulationConfig;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spatial index over the non-fish entity types fish steering queries, one
+ * {@link EntityLayer} per type. Fish have their own, denser index (see
+ * {@link SpatialIndex}).
+ * <p>
+ * The sharks, obstacles and plankton layers are rebuilt at the start of the
+ * fish phase, which is the only phase that queries them, so they never need
+ * locking.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public final class WorldIndex {
+
+    public final EntityLayer<Shark> sharks;
+    public final EntityLayer<PlanktonPatch> plankton;
+    public final EntityLayer<ZoneAEviter> obstacles;
+
+    /**
+     * Creates empty layers for a world of the given size.
+     */
+    public WorldIndex(double width, double height) {
+        double cell = SimulationConfig.ENTITY_INDEX_CELL_SIZE;
+        this.sharks = new EntityLayer<>(width, height, cell, s -> s.posX, s -> s.posY, s -> 0);
+        this.plankton = new EntityLayer<>(width, height, cell, p -> p.posX, p -> p.posY,
+                PlanktonPatch::getRadius);
+        this.obstacles = new EntityLayer<>(width, height, cell, o -> o.posX, o -> o.posY, o -> o.rayon);
+    }
+
+    /**
+     * Resizes every layer for a new world size, keeping its entities.
+     */
+    public void resize(double width, double height) {
+        sharks.resize(width, height);
+        plankton.resize(width, height);
+        obstacles.resize(width, height);
+    }
+
+    /**
+     * Builds an index of the layers fish steering uses from plain lists, for
+     * callers outside the tick (tests, tools).
+     */
+    public static WorldIndex of(double width, double height, List<Shark> sharks,
+            List<ZoneAEviter> obstacles, PlanktonPatch[] plankton) {
+        WorldIndex index = new WorldIndex(width, height);
+        index.sharks.rebuild(sharks);
+        index.obstacles.rebuild(obstacles);
+        index.plankton.rebuild(Arrays.asList(plankton));
+        return index;
+    }
+}
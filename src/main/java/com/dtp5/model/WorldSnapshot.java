@@ -0,0 +1,128 @@
+package com.dtp5.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Flat copy of the shark positions, obstacles and plankton patches, taken
+ * once at the start of a frame and shared read-only by every entity update
+ * of that frame through {@link SimulationContext}.
+ * <p>
+ * Readers see the state as it was before any phase of the frame ran, never
+ * a shark half-way through its move. The ocean refills one instance in
+ * place at the start of each frame, growing its arrays only when the
+ * entity counts grow, so a snapshot is valid until the next frame starts.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+public final class WorldSnapshot {
+
+    private int sharkCount;
+    private double[] sharkX = new double[0];
+    private double[] sharkY = new double[0];
+
+    private int obstacleCount;
+    private double[] obstacleX = new double[0];
+    private double[] obstacleY = new double[0];
+    private double[] obstacleRadius = new double[0];
+
+    private int planktonCount;
+    private double[] planktonX = new double[0];
+    private double[] planktonY = new double[0];
+    private double[] planktonRadius = new double[0];
+    private double[] planktonBiomass = new double[0];
+
+    /**
+     * Copies the current state of the given entities. Call between frames,
+     * on the thread that runs them.
+     */
+    void capture(List<Shark> sharks, List<ZoneAEviter> obstacles, List<PlanktonPatch> planktons) {
+        sharkCount = 0;
+        for (Shark s : sharks) {
+            if (sharkCount == sharkX.length) {
+                int capacity = Math.max(4, sharkCount * 2);
+                sharkX = Arrays.copyOf(sharkX, capacity);
+                sharkY = Arrays.copyOf(sharkY, capacity);
+            }
+            sharkX[sharkCount] = s.posX;
+            sharkY[sharkCount++] = s.posY;
+        }
+
+        obstacleCount = 0;
+        for (ZoneAEviter o : obstacles) {
+            if (obstacleCount == obstacleX.length) {
+                int capacity = Math.max(4, obstacleCount * 2);
+                obstacleX = Arrays.copyOf(obstacleX, capacity);
+                obstacleY = Arrays.copyOf(obstacleY, capacity);
+                obstacleRadius = Arrays.copyOf(obstacleRadius, capacity);
+            }
+            obstacleX[obstacleCount] = o.posX;
+            obstacleY[obstacleCount] = o.posY;
+            obstacleRadius[obstacleCount++] = o.rayon;
+        }
+
+        planktonCount = 0;
+        for (PlanktonPatch p : planktons) {
+            if (planktonCount == planktonX.length) {
+                int capacity = Math.max(4, planktonCount * 2);
+                planktonX = Arrays.copyOf(planktonX, capacity);
+                planktonY = Arrays.copyOf(planktonY, capacity);
+                planktonRadius = Arrays.copyOf(planktonRadius, capacity);
+                planktonBiomass = Arrays.copyOf(planktonBiomass, capacity);
+            }
+            planktonX[planktonCount] = p.posX;
+            planktonY[planktonCount] = p.posY;
+            planktonRadius[planktonCount] = p.getRadius();
+            planktonBiomass[planktonCount++] = p.getBiomass();
+        }
+    }
+
+    public int sharkCount() {
+        return sharkCount;
+    }
+
+    public double sharkX(int k) {
+        return sharkX[k];
+    }
+
+    public double sharkY(int k) {
+        return sharkY[k];
+    }
+
+    public int obstacleCount() {
+        return obstacleCount;
+    }
+
+    public double obstacleX(int k) {
+        return obstacleX[k];
+    }
+
+    public double obstacleY(int k) {
+        return obstacleY[k];
+    }
+
+    public double obstacleRadius(int k) {
+        return obstacleRadius[k];
+    }
+
+    public int planktonCount() {
+        return planktonCount;
+    }
+
+    public double planktonX(int k) {
+        return planktonX[k];
+    }
+
+    public double planktonY(int k) {
+        return planktonY[k];
+    }
+
+    public double planktonRadius(int k) {
+        return planktonRadius[k];
+    }
+
+    public double planktonBiomass(int k) {
+        return planktonBiomass[k];
+    }
+}
@@ -17,6 +17,11 @@ public class ZoneAEviter extends Objet {
         tempsRestant = SimulationConfig.OBSTACLE_LIFETIME;
     }
 
+    public ZoneAEviter(ZoneAEviter other) {
+        this(other.posX, other.posY, other.rayon);
+        tempsRestant = other.tempsRestant;
+    }
+
     public double getRayon() {
         return rayon;
     }
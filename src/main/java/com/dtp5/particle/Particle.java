@@ -58,11 +58,28 @@ public class Particle {
         this.active = false;
     }
 
+    /**
+     * Creates a copy of another particle, e.g. for a frame snapshot.
+     */
+    public Particle(Particle other) {
+        this.x = other.x;
+        this.y = other.y;
+        this.vx = other.vx;
+        this.vy = other.vy;
+        this.size = other.size;
+        this.lifetime = other.lifetime;
+        this.maxLifetime = other.maxLifetime;
+        this.color = other.color;
+        this.type = other.type;
+        this.active = other.active;
+        this.phase = other.phase;
+    }
+
     /**
      * Initializes this particle with the given parameters.
      */
     public void init(double x, double y, double vx, double vy,
-            double size, int lifetime, Color color, ParticleType type) {
+            double size, int lifetime, Color color, ParticleType type, double phase) {
         this.x = x;
         this.y = y;
         this.vx = vx;
@@ -72,7 +89,7 @@ public class Particle {
         this.maxLifetime = lifetime;
         this.color = color;
         this.type = type;
-        this.phase = Math.random() * Math.PI * 2;
+        this.phase = phase;
         this.active = true;
     }
 
@@ -2,7 +2,8 @@ package com.dtp5.particle;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Manages a pool of particles for efficient allocation and rendering.
@@ -20,7 +21,7 @@ public class ParticleSystem {
     private final Particle[] particles;
 
     /** Random for particle generation */
-    private final Random random;
+    private final RandomGenerator random;
 
     /** Index for round-robin allocation */
     private int nextParticleIndex = 0;
@@ -29,8 +30,15 @@ public class ParticleSystem {
      * Creates a new particle system.
      */
     public ParticleSystem() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creates a new particle system that draws from the given generator.
+     */
+    public ParticleSystem(RandomGenerator random) {
         this.particles = new Particle[MAX_PARTICLES];
-        this.random = new Random();
+        this.random = random;
 
         // Pre-allocate all particles
         for (int i = 0; i < MAX_PARTICLES; i++) {
@@ -60,6 +68,20 @@ public class ParticleSystem {
         }
     }
 
+    /**
+     * Copies all active particles, e.g. for a frame snapshot.
+     */
+    public Particle[] copyActive() {
+        Particle[] copy = new Particle[getActiveCount()];
+        int n = 0;
+        for (Particle p : particles) {
+            if (p.active) {
+                copy[n++] = new Particle(p);
+            }
+        }
+        return copy;
+    }
+
     /**
      * Spawns a bubble at the given position.
      */
@@ -71,7 +93,7 @@ public class ParticleSystem {
         int lifetime = 120 + random.nextInt(180);
 
         Color color = new Color(200, 220, 255, 150);
-        p.init(x, y, vx, vy, size, lifetime, color, Particle.ParticleType.BUBBLE);
+        p.init(x, y, vx, vy, size, lifetime, color, Particle.ParticleType.BUBBLE, randomPhase());
     }
 
     /**
@@ -101,7 +123,7 @@ public class ParticleSystem {
         int b = 40 + random.nextInt(20);
         Color color = new Color(r, g, b, 100);
 
-        p.init(x, y, vx, vy, size, lifetime, color, Particle.ParticleType.DEBRIS);
+        p.init(x, y, vx, vy, size, lifetime, color, Particle.ParticleType.DEBRIS, randomPhase());
     }
 
     /**
@@ -118,7 +140,7 @@ public class ParticleSystem {
             int lifetime = 30 + random.nextInt(30);
 
             Color color = new Color(200, 220, 255, 200);
-            p.init(x, y, vx, vy, size, lifetime, color, Particle.ParticleType.SPLASH);
+            p.init(x, y, vx, vy, size, lifetime, color, Particle.ParticleType.SPLASH, randomPhase());
         }
     }
 
@@ -132,7 +154,7 @@ public class ParticleSystem {
 
         Color color = new Color(glowColor.getRed(), glowColor.getGreen(),
                 glowColor.getBlue(), 100);
-        p.init(x, y, 0, 0, size, lifetime, color, Particle.ParticleType.GLOW);
+        p.init(x, y, 0, 0, size, lifetime, color, Particle.ParticleType.GLOW, randomPhase());
     }
 
     /**
@@ -148,10 +170,14 @@ public class ParticleSystem {
 
             Color color = new Color(255, 255, 200, 200);
             p.init(x + offsetX, y + offsetY, 0, 0, size, lifetime, color,
-                    Particle.ParticleType.SPARKLE);
+                    Particle.ParticleType.SPARKLE, randomPhase());
         }
     }
 
+    private double randomPhase() {
+        return random.nextDouble() * Math.PI * 2;
+    }
+
     /**
      * Gets the next available particle (round-robin allocation).
      */
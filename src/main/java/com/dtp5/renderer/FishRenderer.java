@@ -1,6 +1,8 @@
 package com.dtp5.renderer;
 
-import com.dtp5.model.Poisson;
+import com.dtp5.config.SimulationConfig;
+import com.dtp5.model.FishSpecies;
+import com.dtp5.model.FrameSnapshot;
 
 import java.awt.*;
 import java.awt.geom.*;
@@ -14,29 +16,40 @@ public class FishRenderer {
     private static final BasicStroke FISH_STROKE = new BasicStroke(1.5f);
     private static final BasicStroke TRAIL_STROKE = new BasicStroke(1.0f);
 
+    /**
+     * Renders every fish in a frame snapshot.
+     */
+    public static void renderAll(FrameSnapshot frame, Graphics2D g2d) {
+        for (int i = 0; i < frame.fishCount; i++) {
+            render(frame, i, g2d);
+        }
+    }
+
     /**
      * Renders a fish with all visual effects based on its species.
      */
-    public static void render(Poisson fish, Graphics2D g2d, long frameCount) {
-        double x = fish.posX;
-        double y = fish.posY;
-        double angle = Math.atan2(fish.vitesseY, fish.vitesseX);
+    public static void render(FrameSnapshot frame, int index, Graphics2D g2d) {
+        double x = frame.fishX(index);
+        double y = frame.fishY(index);
+        double angle = Math.atan2(frame.fishVy(index), frame.fishVx(index));
+        FishSpecies species = frame.fishSpecies(index);
+        Color color = frame.fishColor(index);
 
         // Save original transform
         AffineTransform originalTransform = g2d.getTransform();
 
         // Draw trail effect first (behind fish)
-        drawTrail(fish, g2d);
+        drawTrail(frame, index, color, g2d);
 
         // Translate and rotate for fish
         g2d.translate(x, y);
         g2d.rotate(angle);
 
         // Draw shadow
-        drawShadow(g2d, fish);
+        drawShadow(g2d, species);
 
         // Draw fish body (species-specific size)
-        drawFishBody(fish, g2d, frameCount);
+        drawFishBody(species, color, g2d, frame.frameCount);
 
         // Restore transform
         g2d.setTransform(originalTransform);
@@ -45,35 +58,36 @@ public class FishRenderer {
     /**
      * Draws the trail effect behind the fish.
      */
-    private static void drawTrail(Poisson fish, Graphics2D g2d) {
-        if (fish.trail.isEmpty())
+    private static void drawTrail(FrameSnapshot frame, int index, Color color, Graphics2D g2d) {
+        int length = frame.trailLength(index);
+        if (length == 0)
             return;
 
         g2d.setStroke(TRAIL_STROKE);
 
-        for (int i = 0; i < fish.trail.size() - 1; i++) {
-            Point2D.Double p1 = fish.trail.get(i);
-            Point2D.Double p2 = fish.trail.get(i + 1);
-
+        Line2D.Double segment = new Line2D.Double();
+        for (int i = 0; i < length - 1; i++) {
             // Fade trail based on position
-            float alpha = 0.3f * (1.0f - (float) i / fish.trail.size());
+            float alpha = SimulationConfig.TRAIL_ALPHA * (1.0f - (float) i / length);
             Color trailColor = new Color(
-                    fish.color.getRed(),
-                    fish.color.getGreen(),
-                    fish.color.getBlue(),
+                    color.getRed(),
+                    color.getGreen(),
+                    color.getBlue(),
                     (int) (alpha * 255));
 
             g2d.setColor(trailColor);
-            g2d.draw(new Line2D.Double(p1.x, p1.y, p2.x, p2.y));
+            segment.setLine(frame.trailX(index, i), frame.trailY(index, i),
+                    frame.trailX(index, i + 1), frame.trailY(index, i + 1));
+            g2d.draw(segment);
         }
     }
 
     /**
      * Draws a subtle shadow beneath the fish.
      */
-    private static void drawShadow(Graphics2D g2d, Poisson fish) {
-        int bodyLength = fish.species.bodyLength;
-        int bodyWidth = fish.species.bodyWidth;
+    private static void drawShadow(Graphics2D g2d, FishSpecies species) {
+        int bodyLength = species.bodyLength;
+        int bodyWidth = species.bodyWidth;
 
         g2d.setColor(new Color(0, 0, 0, 30));
         Ellipse2D.Double shadow = new Ellipse2D.Double(
@@ -88,14 +102,14 @@ public class FishRenderer {
      * Draws the detailed fish body with gradient and animated tail.
      * Size is based on species.
      */
-    private static void drawFishBody(Poisson fish, Graphics2D g2d, long frameCount) {
-        int bodyLength = fish.species.bodyLength;
-        int bodyWidth = fish.species.bodyWidth;
-        int tailLength = fish.species.tailLength;
+    private static void drawFishBody(FishSpecies species, Color color, Graphics2D g2d, long frameCount) {
+        int bodyLength = species.bodyLength;
+        int bodyWidth = species.bodyWidth;
+        int tailLength = species.tailLength;
         int tailWidth = bodyWidth;
 
         // Calculate tail animation - faster for faster fish
-        double tailWave = Math.sin(frameCount / (10.0 / fish.species.speed * 3)) * 3;
+        double tailWave = Math.sin(frameCount / (10.0 / species.speed * 3)) * 3;
 
         // Create fish body shape (pointed front, wider middle)
         GeneralPath body = new GeneralPath();
@@ -114,11 +128,11 @@ public class FishRenderer {
         Point2D start = new Point2D.Double(-bodyLength / 2.0, 0);
         Point2D end = new Point2D.Double(bodyLength / 2.0, 0);
 
-        Color darkerColor = darkenColor(fish.color, 0.6f);
+        Color darkerColor = darkenColor(color, 0.6f);
         LinearGradientPaint gradient = new LinearGradientPaint(
                 start, end,
                 new float[] { 0.0f, 1.0f },
-                new Color[] { darkerColor, fish.color });
+                new Color[] { darkerColor, color });
 
         // Fill body with gradient
         g2d.setPaint(gradient);
@@ -3,12 +3,15 @@ package com.dtp5.ui;
 import com.dtp5.config.SimulationConfig;
 import com.dtp5.model.Ocean;
 import com.dtp5.model.EnvironmentalField;
+import com.dtp5.model.FrameSnapshot;
+import com.dtp5.model.SpatialIndexType;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.text.DecimalFormat;
+import java.util.Arrays;
 
 /**
  * Control panel with statistics display and simulation controls.
@@ -87,7 +90,7 @@ public class ControlPanel extends JPanel {
         JPanel addFishPanel = new JPanel(new BorderLayout());
         addFishPanel.setOpaque(false);
         addFishButton = new ModernButton("🐟 Fish", new Color(0, 191, 255));
-        addFishButton.addActionListener(e -> ocean.addFish(1));
+        addFishButton.addActionListener(e -> ocean.invokeLater(() -> ocean.addFish(1)));
         addFishPanel.add(addFishButton, BorderLayout.CENTER);
 
         JComboBox<String> fishCountCombo = createStyledCombo(
@@ -95,7 +98,7 @@ public class ControlPanel extends JPanel {
         fishCountCombo.addActionListener(e -> {
             String selected = (String) fishCountCombo.getSelectedItem();
             int count = parseCount(selected);
-            ocean.addFish(count);
+            ocean.invokeLater(() -> ocean.addFish(count));
             fishCountCombo.setSelectedIndex(0);
         });
         addFishPanel.add(fishCountCombo, BorderLayout.EAST);
@@ -103,27 +106,27 @@ public class ControlPanel extends JPanel {
 
         // Shark button
         addSharkButton = new ModernButton("🦈 Shark", new Color(255, 69, 0));
-        addSharkButton.addActionListener(e -> ocean.addShark());
+        addSharkButton.addActionListener(e -> ocean.invokeLater(() -> ocean.addShark()));
         topRow.add(addSharkButton);
 
         // Jellyfish button
         jellyfishButton = new ModernButton("🎐 Jelly", new Color(186, 85, 211));
-        jellyfishButton.addActionListener(e -> ocean.addJellyfish());
+        jellyfishButton.addActionListener(e -> ocean.invokeLater(() -> ocean.addJellyfish()));
         topRow.add(jellyfishButton);
 
         // Sea Turtle button
         turtleButton = new ModernButton("🐢 Turtle", new Color(60, 179, 113));
-        turtleButton.addActionListener(e -> ocean.addSeaTurtle());
+        turtleButton.addActionListener(e -> ocean.invokeLater(() -> ocean.addSeaTurtle()));
         topRow.add(turtleButton);
 
         // Fisherman button
         fishermanButton = new ModernButton("🎣 Fisher", new Color(147, 112, 219));
-        fishermanButton.addActionListener(e -> ocean.toggleFisherman());
+        fishermanButton.addActionListener(e -> ocean.invokeLater(() -> ocean.toggleFisherman()));
         topRow.add(fishermanButton);
 
         // Plankton button
         planktonButton = new ModernButton("🟢 Plankton", new Color(50, 205, 50));
-        planktonButton.addActionListener(e -> ocean.spawnPlanktonPatch());
+        planktonButton.addActionListener(e -> ocean.invokeLater(() -> ocean.spawnPlanktonPatch()));
         topRow.add(planktonButton);
 
         leftPanel.add(topRow);
@@ -162,21 +165,36 @@ public class ControlPanel extends JPanel {
         // Current pattern buttons
         ModernButton calmButton = new ModernButton("😌 Calm", new Color(100, 150, 200));
         calmButton.setPreferredSize(new Dimension(75, 30));
-        calmButton.addActionListener(e -> ocean.environmentalField.setPattern(EnvironmentalField.CurrentPattern.CALM));
+        calmButton.addActionListener(e -> ocean.invokeLater(
+                () -> ocean.environmentalField.setPattern(EnvironmentalField.CurrentPattern.CALM)));
         bottomRow.add(calmButton);
 
         ModernButton swirlButton = new ModernButton("🌀 Swirl", new Color(70, 130, 180));
         swirlButton.setPreferredSize(new Dimension(75, 30));
         swirlButton
-                .addActionListener(e -> ocean.environmentalField.setPattern(EnvironmentalField.CurrentPattern.SWIRL));
+                .addActionListener(e -> ocean.invokeLater(
+                        () -> ocean.environmentalField.setPattern(EnvironmentalField.CurrentPattern.SWIRL)));
         bottomRow.add(swirlButton);
 
         ModernButton whirlButton = new ModernButton("🌪️ Whirl", new Color(150, 100, 200));
         whirlButton.setPreferredSize(new Dimension(75, 30));
-        whirlButton.addActionListener(
-                e -> ocean.environmentalField.setPattern(EnvironmentalField.CurrentPattern.WHIRLPOOL));
+        whirlButton.addActionListener(e -> ocean.invokeLater(
+                () -> ocean.environmentalField.setPattern(EnvironmentalField.CurrentPattern.WHIRLPOOL)));
         bottomRow.add(whirlButton);
 
+        bottomRow.add(createSeparator());
+
+        // Fish spatial index backend
+        JComboBox<String> indexCombo = createStyledCombo(
+                Arrays.stream(SpatialIndexType.values()).map(t -> t.id).toArray(String[]::new));
+        indexCombo.setSelectedItem(ocean.getSpatialIndexType().id);
+        indexCombo.setToolTipText("Fish spatial index");
+        indexCombo.addActionListener(e -> {
+            SpatialIndexType type = SpatialIndexType.parse((String) indexCombo.getSelectedItem());
+            ocean.invokeLater(() -> ocean.setSpatialIndexType(type));
+        });
+        bottomRow.add(indexCombo);
+
         leftPanel.add(bottomRow);
 
         add(leftPanel, BorderLayout.WEST);
@@ -186,7 +204,7 @@ public class ControlPanel extends JPanel {
         centerPanel.setOpaque(false);
 
         fpsLabel = createLabel("FPS: 0.0");
-        fishCountLabel = createLabel("Fish: " + ocean.poissons.length);
+        fishCountLabel = createLabel("Fish: " + ocean.fish.size());
         obstacleCountLabel = createLabel("Obstacles: 0");
         birthsLabel = createLabel("Births: 0");
         deathsLabel = createLabel("Deaths: 0");
@@ -212,7 +230,7 @@ public class ControlPanel extends JPanel {
         JSlider currentStrengthSlider = (JSlider) currentStrengthPanel.getComponent(1);
         currentStrengthSlider.addChangeListener(e -> {
             double strength = currentStrengthSlider.getValue() / 100.0;
-            ocean.environmentalField.setCurrentStrength(strength);
+            ocean.invokeLater(() -> ocean.environmentalField.setCurrentStrength(strength));
         });
         rightPanel.add(currentStrengthPanel);
 
@@ -221,15 +239,15 @@ public class ControlPanel extends JPanel {
         JSlider dayNightSpeedSlider = (JSlider) dayNightSpeedPanel.getComponent(1);
         dayNightSpeedSlider.addChangeListener(e -> {
             double speed = dayNightSpeedSlider.getValue() / 100.0;
-            ocean.dayNightCycle.setTimeMultiplier(speed);
+            ocean.invokeLater(() -> ocean.dayNightCycle.setTimeMultiplier(speed));
         });
         rightPanel.add(dayNightSpeedPanel);
 
         // Separator
         rightPanel.add(createSeparator());
 
-        // Simulation speed slider
-        JPanel sliderPanel = createSliderPanel("Sim Speed", 10, 200, 100);
+        // Simulation rate slider (ticks per second)
+        JPanel sliderPanel = createSliderPanel("TPS", 10, 240, SimulationConfig.TARGET_TPS);
         speedSlider = (JSlider) sliderPanel.getComponent(1);
         rightPanel.add(sliderPanel);
 
@@ -302,7 +320,10 @@ public class ControlPanel extends JPanel {
         return separator;
     }
 
-    public void updateStats() {
+    /**
+     * Refreshes the statistics from the frame about to be drawn.
+     */
+    public void updateStats(FrameSnapshot frame) {
         frameCount++;
         long currentTime = System.currentTimeMillis();
         long elapsed = currentTime - lastUpdateTime;
@@ -314,17 +335,17 @@ public class ControlPanel extends JPanel {
             lastUpdateTime = currentTime;
         }
 
-        fishCountLabel.setText("Fish: " + ocean.poissons.length);
-        obstacleCountLabel.setText("Obstacles: " + ocean.obstacles.size());
-        birthsLabel.setText("Births: " + ocean.stats.getBirths());
-        deathsLabel.setText("Deaths: " + ocean.stats.getDeaths());
-        energyLabel.setText("Avg E: " + fpsFormat.format(ocean.stats.getAvgEnergy()));
+        fishCountLabel.setText("Fish: " + frame.fishCount);
+        obstacleCountLabel.setText("Obstacles: " + frame.obstacles.size());
+        birthsLabel.setText("Births: " + frame.births);
+        deathsLabel.setText("Deaths: " + frame.deaths);
+        energyLabel.setText("Avg E: " + fpsFormat.format(frame.avgEnergy));
 
         // Update creatures count
         creaturesLabel.setText(String.format("🦈%d 🎐%d 🐢%d",
-                ocean.sharks.size(),
-                ocean.jellyfish.size(),
-                ocean.seaTurtles.size()));
+                frame.sharks.size(),
+                frame.jellyfish.size(),
+                frame.seaTurtles.size()));
     }
 
     public JButton getPauseButton() {
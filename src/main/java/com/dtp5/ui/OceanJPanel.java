@@ -2,6 +2,7 @@ package com.dtp5.ui;
 
 import com.dtp5.config.SimulationConfig;
 import com.dtp5.model.*;
+import com.dtp5.particle.Particle;
 import com.dtp5.renderer.*;
 
 import javax.swing.*;
@@ -11,16 +12,16 @@ import java.awt.event.ComponentEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.geom.Ellipse2D;
-import java.beans.PropertyChangeEvent;
 import java.awt.image.BufferedImage;
-import java.beans.PropertyChangeListener;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Main panel for rendering the ocean simulation with beautiful graphics.
  * Features:
  * <ul>
  * <li>Double-buffered rendering for smooth animation</li>
+ * <li>Simulation on its own thread; frames are drawn from snapshots</li>
  * <li>Day/night cycle with dynamic lighting</li>
  * <li>Particle effects (bubbles, splash)</li>
  * <li>Multiple creature types with unique renderers</li>
@@ -30,12 +31,17 @@ import java.util.Random;
  * @author Ocean Ecosystem Team
  * @version 2.0.0
  */
-public class OceanJPanel extends JPanel implements PropertyChangeListener, MouseListener {
+public class OceanJPanel extends JPanel implements MouseListener {
 
     protected Ocean ocean;
-    protected Timer timer;
+    protected SimulationLoop loop;
     private ControlPanel controlPanel;
-    private int baseDelay;
+
+    /** Frame currently being drawn (only touched on the EDT) */
+    private FrameSnapshot frame;
+
+    /** Latest panel size not yet applied to the ocean, or null */
+    private final AtomicReference<Dimension> pendingSize = new AtomicReference<>();
 
     // Double buffering
     private BufferedImage backBuffer;
@@ -51,7 +57,6 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
     public OceanJPanel() {
         this.setBackground(SimulationConfig.OCEAN_BOTTOM_COLOR);
         this.addMouseListener(this);
-        this.baseDelay = SimulationConfig.TIMER_DELAY_MS;
 
         // Initialize caustics
         caustics = new Caustic[SimulationConfig.CAUSTIC_COUNT];
@@ -64,7 +69,14 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
             @Override
             public void componentResized(ComponentEvent e) {
                 if (ocean != null) {
-                    ocean.setDimensions(getWidth(), getHeight());
+                    // Dragging an edge fires many events per tick; queue one
+                    // command, which applies the latest size
+                    if (pendingSize.getAndSet(getSize()) == null) {
+                        ocean.invokeLater(() -> {
+                            Dimension size = pendingSize.getAndSet(null);
+                            ocean.setDimensions(size.width, size.height);
+                        });
+                    }
                 }
             }
         });
@@ -75,38 +87,24 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
                 SimulationConfig.INITIAL_FISH_COUNT,
                 this.getWidth(),
                 this.getHeight());
-        ocean.addPropertyChangeListener(this);
 
         // Create control panel
         controlPanel = new ControlPanel(ocean);
 
         // Setup pause button
         controlPanel.getPauseButton().addActionListener(e -> {
-            if (controlPanel.isPaused()) {
-                timer.start();
-                controlPanel.setPaused(false);
-            } else {
-                timer.stop();
-                controlPanel.setPaused(true);
-            }
-        });
-
-        // Setup speed slider
-        controlPanel.getSpeedSlider().addChangeListener(e -> {
-            int value = controlPanel.getSpeedSlider().getValue();
-            int newDelay = (int) (baseDelay * 100.0 / value);
-            timer.setDelay(Math.max(1, newDelay));
+            boolean paused = !loop.isPaused();
+            loop.setPaused(paused);
+            controlPanel.setPaused(paused);
         });
 
-        // Setup add fish button
-        controlPanel.getAddFishButton().addActionListener(e -> ocean.addFish());
+        // Setup ticks-per-second slider
+        controlPanel.getSpeedSlider().addChangeListener(
+                e -> loop.setTargetTicksPerSecond(controlPanel.getSpeedSlider().getValue()));
 
-        // Start timer
-        timer = new Timer(baseDelay, e -> {
-            ocean.updateOcean();
-            controlPanel.updateStats();
-        });
-        timer.start();
+        // Start simulation thread; each published frame requests a repaint
+        loop = new SimulationLoop(ocean, controlPanel.getSpeedSlider().getValue(), this::repaint);
+        loop.start();
 
         // Initialize back buffer
         initBackBuffer();
@@ -131,11 +129,6 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
         return controlPanel;
     }
 
-    @Override
-    public void propertyChange(PropertyChangeEvent evt) {
-        this.repaint();
-    }
-
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
@@ -145,7 +138,20 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
             initBackBuffer();
         }
 
-        if (backBuffer == null || ocean == null)
+        if (backBuffer == null || loop == null)
+            return;
+
+        // Pick up the newest finished frame, or redraw the last one
+        FrameSnapshot latest = loop.poll();
+        if (latest != null) {
+            frame = latest;
+            controlPanel.updateStats(frame);
+        }
+        // The loop pauses itself when a tick fails
+        if (controlPanel.isPaused() != loop.isPaused()) {
+            controlPanel.setPaused(loop.isPaused());
+        }
+        if (frame == null)
             return;
 
         // Render to back buffer
@@ -156,17 +162,17 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
     }
 
     /**
-     * Renders the entire scene to the provided graphics context.
+     * Renders the current frame snapshot to the provided graphics context.
      */
     private void renderScene(Graphics2D g2d) {
-        boolean isNight = ocean.dayNightEnabled && !ocean.dayNightCycle.isDaytime();
-        float lightLevel = ocean.dayNightEnabled ? ocean.dayNightCycle.getLightLevel() : 1.0f;
+        boolean isNight = frame.isNight();
+        float lightLevel = frame.lightLevel();
 
         // Draw ocean background with dynamic lighting
         drawDynamicBackground(g2d);
 
         // Draw moon at night
-        if (isNight && ocean.dayNightEnabled) {
+        if (isNight && frame.dayNightEnabled) {
             drawMoon(g2d);
         }
 
@@ -183,58 +189,58 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
         drawAlgae(g2d);
 
         // Draw plankton
-        if (ocean.showPlankton) {
+        if (frame.showPlankton) {
             drawPlankton(g2d);
         }
 
         // Draw current vectors
-        if (ocean.showCurrents) {
+        if (frame.showCurrents) {
             drawCurrents(g2d);
         }
 
         // Draw obstacles
-        for (ZoneAEviter o : ocean.obstacles) {
+        for (ZoneAEviter o : frame.obstacles) {
             ObstacleRenderer.render(o, g2d);
         }
 
         // Draw sea turtles (behind fish)
-        for (SeaTurtle turtle : ocean.seaTurtles) {
-            SeaTurtleRenderer.render(turtle, g2d, ocean.getFrameCount());
+        for (SeaTurtle turtle : frame.seaTurtles) {
+            SeaTurtleRenderer.render(turtle, g2d, frame.frameCount);
         }
 
         // Draw fish
-        for (Poisson p : ocean.poissons) {
-            FishRenderer.render(p, g2d, ocean.getFrameCount());
-        }
+        FishRenderer.renderAll(frame, g2d);
 
         // Draw sharks
-        for (Shark s : ocean.sharks) {
+        for (Shark s : frame.sharks) {
             SharkRenderer.render(s, g2d);
         }
 
         // Draw jellyfish (with glow at night)
-        for (Jellyfish j : ocean.jellyfish) {
-            JellyfishRenderer.render(j, g2d, ocean.getFrameCount(), isNight);
+        for (Jellyfish j : frame.jellyfish) {
+            JellyfishRenderer.render(j, g2d, frame.frameCount, isNight);
         }
 
         // Draw fisherman
-        FishermanRenderer.render(ocean.fisherman, g2d);
+        FishermanRenderer.render(frame.fisherman, g2d);
 
         // Draw particles
-        if (ocean.particlesEnabled) {
-            ocean.particleSystem.render(g2d);
+        if (frame.particlesEnabled) {
+            for (Particle p : frame.particles()) {
+                p.render(g2d);
+            }
         }
 
         // Draw glass vignette
         drawGlassVignette(g2d);
 
         // Draw night overlay
-        if (isNight && ocean.dayNightEnabled) {
+        if (isNight && frame.dayNightEnabled) {
             drawNightOverlay(g2d, lightLevel);
         }
 
         // Draw time indicator
-        if (ocean.dayNightEnabled) {
+        if (frame.dayNightEnabled) {
             drawTimeIndicator(g2d);
         }
     }
@@ -245,9 +251,9 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
 
         Color topColor, bottomColor;
 
-        if (ocean.dayNightEnabled) {
-            topColor = ocean.dayNightCycle.getSkyTopColor();
-            bottomColor = ocean.dayNightCycle.getSkyBottomColor();
+        if (frame.dayNightEnabled) {
+            topColor = frame.dayNightCycle.getSkyTopColor();
+            bottomColor = frame.dayNightCycle.getSkyBottomColor();
         } else {
             topColor = SimulationConfig.OCEAN_TOP_COLOR;
             bottomColor = SimulationConfig.OCEAN_BOTTOM_COLOR;
@@ -263,7 +269,7 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
 
     private void drawMoon(Graphics2D g2d) {
         moonPhase += 0.001;
-        float visibility = ocean.dayNightCycle.getMoonVisibility();
+        float visibility = frame.dayNightCycle.getMoonVisibility();
         if (visibility <= 0)
             return;
 
@@ -299,8 +305,8 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
     }
 
     private void drawTimeIndicator(Graphics2D g2d) {
-        String time = ocean.dayNightCycle.getTimeString();
-        String period = ocean.dayNightCycle.getPeriodName();
+        String time = frame.dayNightCycle.getTimeString();
+        String period = frame.dayNightCycle.getPeriodName();
 
         g2d.setFont(new Font("Segoe UI", Font.BOLD, 12));
         g2d.setColor(new Color(255, 255, 255, 180));
@@ -308,37 +314,28 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
     }
 
     private void drawCoral(Graphics2D g2d) {
-        for (Coral coral : ocean.corals) {
-            CoralRenderer.render(coral, g2d, ocean.getFrameCount());
+        for (Coral coral : frame.corals) {
+            CoralRenderer.render(coral, g2d, frame.frameCount);
         }
     }
 
     private void drawRocks(Graphics2D g2d) {
-        for (Rock rock : ocean.rocks) {
+        for (Rock rock : frame.rocks) {
             RockRenderer.render(rock, g2d);
         }
     }
 
     private void drawAlgae(Graphics2D g2d) {
-        long frameCount = ocean != null ? ocean.getFrameCount() : 0;
-        EnvironmentalField.VectorCell[][] cells = ocean.environmentalField.getCells();
-        double cellW = ocean.environmentalField.getCellWidth();
-        double cellH = ocean.environmentalField.getCellHeight();
-
-        for (Algae a : ocean.algae) {
-            int cellX = (int) (a.baseX / cellW);
-            int cellY = (int) (a.baseY / cellH);
-            double vx = 0, vy = 0;
-            if (cellX >= 0 && cellX < cells.length && cellY >= 0 && cellY < cells[0].length) {
-                vx = cells[cellX][cellY].vx;
-                vy = cells[cellX][cellY].vy;
-            }
-            AlgaeRenderer.render(a, g2d, frameCount, vx, vy);
+        for (Algae a : frame.algae) {
+            EnvironmentalField.VectorCell cell = frame.fieldCellAt(a.baseX, a.baseY);
+            double vx = cell != null ? cell.vx : 0;
+            double vy = cell != null ? cell.vy : 0;
+            AlgaeRenderer.render(a, g2d, frame.frameCount, vx, vy);
         }
     }
 
     private void drawPlankton(Graphics2D g2d) {
-        for (PlanktonPatch patch : ocean.planktons) {
+        for (PlanktonPatch patch : frame.planktons) {
             float alpha = (float) Math.min(0.45, 0.2 + patch.getBiomass() / SimulationConfig.PLANKTON_MAX_BIOMASS);
             g2d.setColor(new Color(80, 200, 120, (int) (alpha * 255)));
             double r = patch.getRadius();
@@ -347,7 +344,7 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
     }
 
     private void drawCurrents(Graphics2D g2d) {
-        EnvironmentalField.VectorCell[][] cells = ocean.environmentalField.getCells();
+        EnvironmentalField.VectorCell[][] cells = frame.fieldCells();
         int width = getWidth();
         int height = getHeight();
         double cellW = width / (double) cells.length;
@@ -389,23 +386,23 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
     }
 
     private void drawCaustics(Graphics2D g2d, float lightLevel) {
-        long frame = ocean != null ? ocean.getFrameCount() : 0;
+        long frameCount = frame.frameCount;
         int width = getWidth();
         int height = getHeight();
 
         for (Caustic c : caustics) {
-            c.update(frame, width, height);
+            c.update(frameCount, width, height);
             c.draw(g2d, width, height, lightLevel);
         }
     }
 
     private void drawSurfaceWaves(Graphics2D g2d, int width, int height) {
-        long frame = ocean != null ? ocean.getFrameCount() : 0;
+        long frameCount = frame.frameCount;
 
         g2d.setColor(new Color(255, 255, 255, 20));
         for (int y = 50; y < 200; y += 50) {
             for (int x = 0; x < width; x += 40) {
-                double waveY = y + Math.sin((x + frame * 0.5) / 30.0) * 10;
+                double waveY = y + Math.sin((x + frameCount * 0.5) / 30.0) * 10;
                 g2d.fillOval((int) (x - 2), (int) (waveY - 1), 4, 2);
             }
         }
@@ -432,7 +429,9 @@ public class OceanJPanel extends JPanel implements PropertyChangeListener, Mouse
     @Override
     public void mouseClicked(MouseEvent e) {
         if (ocean != null) {
-            ocean.addObstacle(e.getX(), e.getY(), SimulationConfig.DEFAULT_OBSTACLE_RADIUS);
+            int x = e.getX();
+            int y = e.getY();
+            ocean.invokeLater(() -> ocean.addObstacle(x, y, SimulationConfig.DEFAULT_OBSTACLE_RADIUS));
         }
     }
 
@@ -0,0 +1,43 @@
+package com.dtp5.headless;
+
+import com.dtp5.model.Ocean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HeadlessRunner and RunReport.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+class HeadlessRunnerTest {
+
+    @Test
+    @DisplayName("A headless run should simulate every tick and report the final state")
+    void runShouldReportTicksAndPopulation() {
+        Ocean ocean = new Ocean(40, 800, 600, 3, 1);
+        try {
+            RunReport report = new HeadlessRunner(ocean, 25, 0).run();
+
+            assertEquals(25, report.ticks());
+            assertEquals(ocean.fish.size(), report.fishCount());
+            assertEquals(ocean.sharks.size(), report.sharkCount());
+            assertTrue(report.ticksPerSecond() > 0);
+        } finally {
+            ocean.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A runner should reject a negative tick count")
+    void shouldRejectNegativeTicks() {
+        Ocean ocean = new Ocean(10, 800, 600, 3, 1);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> new HeadlessRunner(ocean, -1, 0));
+        } finally {
+            ocean.shutdown();
+        }
+    }
+}
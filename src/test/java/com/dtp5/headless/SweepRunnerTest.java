@@ -0,0 +1,98 @@
+package com.dtp5.headless;
+
+import com.dtp5.config.EcosystemParameters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SweepRunner.
+ * Tests grid expansion, CSV formatting and failure counting.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+class SweepRunnerTest {
+
+    private static SweepRunner smallSweep(int replicas) {
+        return new SweepRunner(EcosystemParameters.DEFAULTS, 3, 20, 0, 400, 300, replicas, 1)
+                .sweep("energyDecayPerTick", 0.25, 0.45)
+                .sweep("planktonRegenRate", 0.4, 0.6, 0.8);
+    }
+
+    @Test
+    @DisplayName("Combinations should vary the first swept parameter slowest")
+    void combinationsShouldFollowGridOrder() {
+        List<EcosystemParameters> combos = smallSweep(1).combinations();
+
+        assertEquals(6, combos.size());
+        double[][] expected = { { 0.25, 0.4 }, { 0.25, 0.6 }, { 0.25, 0.8 },
+                { 0.45, 0.4 }, { 0.45, 0.6 }, { 0.45, 0.8 } };
+        for (int k = 0; k < combos.size(); k++) {
+            assertEquals(expected[k][0], combos.get(k).energyDecayPerTick(), "combination " + k);
+            assertEquals(expected[k][1], combos.get(k).planktonRegenRate(), "combination " + k);
+            assertEquals(EcosystemParameters.DEFAULTS.feedEnergyGain(), combos.get(k).feedEnergyGain());
+        }
+    }
+
+    @Test
+    @DisplayName("Rows should have as many columns as the header")
+    void rowShouldMatchHeader() {
+        RunReport report = new RunReport(100, 2_000_000_000L, 40, 1, 5, 3, 12, 512.25);
+        String row = SweepRunner.row(7, 3, EcosystemParameters.DEFAULTS, report);
+
+        assertEquals(SweepRunner.header().split(",").length, row.split(",").length);
+        assertTrue(row.startsWith("7,3,"));
+        assertTrue(row.endsWith(",512.250,2.000"));
+    }
+
+    @Test
+    @DisplayName("A sweep should write one row per run and report no failures")
+    void runShouldWriteEveryRow() throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        StringWriter out = new StringWriter();
+        try {
+            assertEquals(0, smallSweep(2).run(pool, 4, out));
+        } finally {
+            pool.shutdown();
+        }
+
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertEquals(1 + 6 * 2, lines.length);
+        assertEquals(SweepRunner.header(), lines[0]);
+    }
+
+    @Test
+    @DisplayName("A sweep should count the runs whose row could not be written")
+    void runShouldCountFailures() throws InterruptedException {
+        // Takes the header, then fails every row
+        Writer failing = new StringWriter() {
+            private boolean headerWritten;
+
+            @Override
+            public void write(String str) {
+                if (headerWritten) {
+                    throw new IllegalStateException("disk full");
+                }
+                super.write(str);
+            }
+
+            @Override
+            public void flush() {
+                headerWritten = true;
+            }
+        };
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(6, smallSweep(1).run(pool, 2, failing));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.dtp5.model;
+
+import com.dtp5.config.SimulationConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for current and temperature sampling.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+class EnvironmentalFieldTest {
+
+    private static final double WIDTH = 800;
+    private static final double HEIGHT = 600;
+
+    private static EnvironmentalField tickedField() {
+        EnvironmentalField field = new EnvironmentalField(WIDTH, HEIGHT, new SplittableRandom(5));
+        field.tick(40);
+        return field;
+    }
+
+    @Test
+    @DisplayName("Interpolated samples should hit cell values at centers and blend in between")
+    void interpolationShouldBlendCenters() {
+        EnvironmentalField field = tickedField();
+        EnvironmentalField.VectorCell[][] cells = field.copyCells();
+        double w = field.getCellWidth();
+        double h = field.getCellHeight();
+        double[] out = new double[2];
+
+        field.sampleVector(3.5 * w, 7.5 * h, out);
+        assertEquals(cells[3][7].vx, out[0], 1e-12);
+        assertEquals(cells[3][7].vy, out[1], 1e-12);
+
+        field.sampleVector(4 * w, 7.5 * h, out);
+        assertEquals((cells[3][7].vx + cells[4][7].vx) / 2, out[0], 1e-12);
+
+        // Past the edge: the edge value
+        field.sampleVector(-50, -50, out);
+        assertEquals(cells[0][0].vx, out[0], 1e-12);
+        assertEquals(cells[0][0].temperature, field.sampleTemperature(-50, -50), 1e-12);
+        int last = SimulationConfig.ENV_FIELD_CELLS - 1;
+        field.sampleVector(WIDTH + 50, HEIGHT + 50, out);
+        assertEquals(cells[last][last].vy, out[1], 1e-12);
+    }
+
+    @Test
+    @DisplayName("Interpolated currents should not jump across cell borders")
+    void interpolationShouldBeContinuous() {
+        EnvironmentalField field = tickedField();
+        double border = 5 * field.getCellWidth();
+        double[] before = new double[2];
+        double[] after = new double[2];
+        field.sampleVector(border - 1e-6, 200, before);
+        field.sampleVector(border + 1e-6, 200, after);
+        assertEquals(before[0], after[0], 1e-6);
+        assertEquals(before[1], after[1], 1e-6);
+
+        field.setInterpolated(false);
+        field.sampleVector(border - 1e-6, 200, before);
+        field.sampleVector(border + 1e-6, 200, after);
+        assertNotEquals(before[0], after[0]);
+    }
+
+    @Test
+    @DisplayName("Batch sampling should match single samples, in both modes")
+    void batchShouldMatchSingle() {
+        EnvironmentalField field = tickedField();
+        Random random = new Random(2);
+        double[] xs = new double[200];
+        double[] ys = new double[200];
+        for (int k = 0; k < xs.length; k++) {
+            xs[k] = random.nextDouble() * (WIDTH + 40) - 20;
+            ys[k] = random.nextDouble() * (HEIGHT + 40) - 20;
+        }
+        double[] outX = new double[xs.length];
+        double[] outY = new double[xs.length];
+        double[] single = new double[2];
+        for (boolean interpolated : new boolean[] { true, false }) {
+            field.setInterpolated(interpolated);
+            field.sampleVectors(xs, ys, 10, xs.length, outX, outY);
+            for (int k = 10; k < xs.length; k++) {
+                field.sampleVector(xs[k], ys[k], single);
+                assertEquals(single[0], outX[k - 10]);
+                assertEquals(single[1], outY[k - 10]);
+            }
+        }
+    }
+}
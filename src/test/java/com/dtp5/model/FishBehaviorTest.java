@@ -0,0 +1,267 @@
+package com.dtp5.model;
+
+import com.dtp5.config.SimulationConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the fish steering kernel.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+class FishBehaviorTest {
+
+    private static final double WIDTH = 400;
+    private static final double HEIGHT = 300;
+    private static final int FISH_COUNT = 300;
+
+    /**
+     * Builds a dense school so that most fish see many neighbors.
+     */
+    private static FishStore denseSchool(long seed) {
+        Random random = new Random(seed);
+        FishSpecies[] species = FishSpecies.values();
+        FishStore store = new FishStore(FISH_COUNT);
+        for (int i = 0; i < FISH_COUNT; i++) {
+            store.add(
+                    100 + random.nextDouble() * 200,
+                    80 + random.nextDouble() * 140,
+                    random.nextDouble() * 2 * Math.PI,
+                    species[random.nextInt(species.length)]);
+        }
+        return store;
+    }
+
+    /**
+     * Runs one frame, updating fish in ascending or descending index order.
+     */
+    private static void step(FishStore store, EnvironmentalField field, boolean reverse) {
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, 100);
+        grid.rebuild(store);
+        WorldIndex world = WorldIndex.of(WIDTH, HEIGHT, List.of(), List.of(), new PlanktonPatch[0]);
+        FishBehavior behavior = new FishBehavior();
+        int n = store.size();
+        for (int k = 0; k < n; k++) {
+            int i = reverse ? n - 1 - k : k;
+            behavior.update(store, i, grid, world, field, WIDTH, HEIGHT, SimulationConfig.ENERGY_DECAY_PER_TICK);
+        }
+        store.swapBuffers();
+    }
+
+    @Test
+    @DisplayName("Update order should not affect the resulting flock")
+    void updateOrderShouldNotMatter() {
+        EnvironmentalField field = new EnvironmentalField(WIDTH, HEIGHT);
+        FishStore forward = denseSchool(42);
+        FishStore backward = denseSchool(42);
+
+        for (int frame = 0; frame < 10; frame++) {
+            step(forward, field, false);
+            step(backward, field, true);
+        }
+
+        for (int i = 0; i < FISH_COUNT; i++) {
+            assertEquals(forward.x(i), backward.x(i), "posX of fish " + i);
+            assertEquals(forward.y(i), backward.y(i), "posY of fish " + i);
+            assertEquals(forward.vx(i), backward.vx(i), "velX of fish " + i);
+            assertEquals(forward.vy(i), backward.vy(i), "velY of fish " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Fish should keep their species speed after steering")
+    void speedShouldBeNormalized() {
+        EnvironmentalField field = new EnvironmentalField(WIDTH, HEIGHT);
+        FishStore store = denseSchool(7);
+
+        step(store, field, false);
+
+        for (int i = 0; i < FISH_COUNT; i++) {
+            double speed = Math.hypot(store.vx(i), store.vy(i));
+            assertEquals(store.species(i).speed, speed, 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Fused kernel should match the behaviors applied one by one")
+    void kernelShouldMatchReference() {
+        EnvironmentalField field = new EnvironmentalField(WIDTH, HEIGHT, new SplittableRandom(3));
+        field.tick(1);
+        FishStore store = denseSchool(11);
+        // Push a few fish against and past the glass
+        for (int i = 0; i < 20; i++) {
+            store.posX[i] = i % 2 == 0 ? -3 + i : WIDTH + 3 - i;
+        }
+        List<Shark> sharks = List.of(new Shark(120, 100, 0));
+        List<ZoneAEviter> obstacles = List.of(new ZoneAEviter(290, 200, 30), new ZoneAEviter(280, 110, 15));
+        WorldIndex world = WorldIndex.of(WIDTH, HEIGHT, sharks, obstacles, new PlanktonPatch[0]);
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, 50);
+        grid.rebuild(store);
+        FishBehavior behavior = new FishBehavior();
+
+        for (int i = 0; i < FISH_COUNT; i++) {
+            behavior.update(store, i, grid, world, field, WIDTH, HEIGHT, 0);
+            double[] expected = referenceStep(store, i, sharks, obstacles, field);
+            assertEquals(expected[0], store.nextPosX[i], 1e-9, "posX of fish " + i);
+            assertEquals(expected[1], store.nextPosY[i], 1e-9, "posY of fish " + i);
+            assertEquals(expected[2], store.nextVelX[i], 1e-9, "velX of fish " + i);
+            assertEquals(expected[3], store.nextVelY[i], 1e-9, "velY of fish " + i);
+        }
+
+        // The batched range update samples the current up front and must agree
+        double[] velX = store.nextVelX.clone();
+        double[] velY = store.nextVelY.clone();
+        behavior.updateRange(store, 0, store.slotCount(), grid, null, world, field, WIDTH, HEIGHT, 0);
+        for (int i = 0; i < FISH_COUNT; i++) {
+            assertEquals(velX[i], store.nextVelX[i], "range velX of fish " + i);
+            assertEquals(velY[i], store.nextVelY[i], "range velY of fish " + i);
+        }
+    }
+
+    /**
+     * Straightforward version of the steering rules with linear scans: the
+     * first of walls, sharks, obstacles, separation and alignment that
+     * triggers steers and normalizes, then the current is added and the
+     * velocity normalized again.
+     *
+     * @return Next position and velocity
+     */
+    private static double[] referenceStep(FishStore store, int i, List<Shark> sharks,
+            List<ZoneAEviter> obstacles, EnvironmentalField field) {
+        FishSpecies s = store.species(i);
+        double x = store.x(i);
+        double y = store.y(i);
+        double[] v = { store.vx(i), store.vy(i) };
+        boolean turned = false;
+
+        if (x < 0) {
+            x = 0;
+            v[0] = Math.abs(v[0]);
+            turned = true;
+        } else if (x > WIDTH) {
+            x = WIDTH;
+            v[0] = -Math.abs(v[0]);
+            turned = true;
+        }
+        if (y < 0) {
+            y = 0;
+            v[1] = Math.abs(v[1]);
+            turned = true;
+        } else if (y > HEIGHT) {
+            y = HEIGHT;
+            v[1] = -Math.abs(v[1]);
+            turned = true;
+        }
+        double padding = s.getMinDistance() * 2.5;
+        double push = s.speed * 0.25;
+        if (x < padding || WIDTH - x < padding) {
+            v[0] += x < padding ? push : -push;
+            turned = true;
+        }
+        if (y < padding || HEIGHT - y < padding) {
+            v[1] += y < padding ? push : -push;
+            turned = true;
+        }
+        if (turned) {
+            normalize(v, s.speed);
+        }
+
+        if (!turned) {
+            Shark closest = null;
+            for (Shark shark : sharks) {
+                if (Math.hypot(shark.posX - x, shark.posY - y) < 150
+                        && (closest == null || Math.hypot(shark.posX - x, shark.posY - y)
+                                < Math.hypot(closest.posX - x, closest.posY - y))) {
+                    closest = shark;
+                }
+            }
+            if (closest != null) {
+                double d = Math.hypot(closest.posX - x, closest.posY - y);
+                v[0] -= (closest.posX - x) / d * s.speed * 0.8;
+                v[1] -= (closest.posY - y) / d * s.speed * 0.8;
+                normalize(v, s.speed);
+                turned = true;
+            }
+        }
+
+        if (!turned) {
+            ZoneAEviter nearest = null;
+            for (ZoneAEviter o : obstacles) {
+                if (nearest == null
+                        || Math.hypot(o.posX - x, o.posY - y) < Math.hypot(nearest.posX - x, nearest.posY - y)) {
+                    nearest = o;
+                }
+            }
+            double d = Math.hypot(nearest.posX - x, nearest.posY - y);
+            if (d < nearest.rayon) {
+                v[0] -= (nearest.posX - x) / d * s.speed * 0.5;
+                v[1] -= (nearest.posY - y) / d * s.speed * 0.5;
+                normalize(v, s.speed);
+                turned = true;
+            }
+        }
+
+        if (!turned) {
+            List<Integer> near = new ArrayList<>();
+            for (int j = 0; j < store.size(); j++) {
+                if (j != i && Math.hypot(store.x(j) - x, store.y(j) - y) < s.getMaxDistance()) {
+                    near.add(j);
+                }
+            }
+            double fx = x;
+            double fy = y;
+            near.sort((a, b) -> Double.compare(Math.hypot(store.x(a) - fx, store.y(a) - fy),
+                    Math.hypot(store.x(b) - fx, store.y(b) - fy)));
+            near = near.subList(0, Math.min(near.size(), s.getSchoolingNeighbors()));
+            if (!near.isEmpty()) {
+                int closest = near.get(0);
+                double d = Math.hypot(store.x(closest) - x, store.y(closest) - y);
+                if (d < s.getMinDistance()) {
+                    v[0] -= (store.x(closest) - x) / d * s.speed * 0.25;
+                    v[1] -= (store.y(closest) - y) / d * s.speed * 0.25;
+                    normalize(v, s.speed);
+                } else {
+                    double sumX = 0;
+                    double sumY = 0;
+                    int n = 0;
+                    for (int j : near) {
+                        if (Math.hypot(store.x(j) - x, store.y(j) - y) > s.getMinDistance()) {
+                            sumX += store.vx(j);
+                            sumY += store.vy(j);
+                            n++;
+                        }
+                    }
+                    if (n > 0) {
+                        double strength = s.getSchoolingStrength();
+                        v[0] = sumX / n * strength + v[0] * (1 - strength);
+                        v[1] = sumY / n * strength + v[1] * (1 - strength);
+                        normalize(v, s.speed);
+                    }
+                }
+            }
+        }
+
+        double[] current = new double[2];
+        field.sampleVector(x, y, current);
+        v[0] += current[0] * SimulationConfig.CURRENT_INFLUENCE;
+        v[1] += current[1] * SimulationConfig.CURRENT_INFLUENCE;
+        normalize(v, s.speed);
+        return new double[] { x + v[0], y + v[1], v[0], v[1] };
+    }
+
+    private static void normalize(double[] v, double speed) {
+        double length = Math.hypot(v[0], v[1]);
+        if (length > 0) {
+            v[0] = v[0] / length * speed;
+            v[1] = v[1] / length * speed;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.dtp5.model;
+
+import com.dtp5.config.SimulationConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the fish slot allocator.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+class FishStoreTest {
+
+    private static FishStore storeWith(int count) {
+        FishStore store = new FishStore(count);
+        for (int i = 0; i < count; i++) {
+            store.add(i, i, 0, FishSpecies.SMALL_FISH);
+        }
+        return store;
+    }
+
+    @Test
+    @DisplayName("Killing a fish should free its slot without moving others")
+    void killShouldNotMoveOtherFish() {
+        FishStore store = storeWith(10);
+
+        store.kill(3);
+        store.kill(3); // Killing twice is a no-op
+
+        assertEquals(9, store.size());
+        assertEquals(10, store.slotCount());
+        assertEquals(1, store.freeCount());
+        assertFalse(store.isAlive(3));
+        assertEquals(4.0, store.x(4));
+    }
+
+    @Test
+    @DisplayName("New fish should reuse freed slots")
+    void addShouldReuseFreedSlots() {
+        FishStore store = storeWith(10);
+        store.kill(7);
+
+        int slot = store.add(100, 100, 0, FishSpecies.SMALL_FISH);
+
+        assertEquals(7, slot);
+        assertEquals(10, store.slotCount());
+        assertEquals(0, store.freeCount());
+        assertEquals(0, store.trailLength(slot));
+    }
+
+    @Test
+    @DisplayName("Iteration should visit exactly the live fish")
+    void nextAliveShouldSkipFreeSlots() {
+        FishStore store = storeWith(130);
+        for (int i = 0; i < 130; i += 2) {
+            store.kill(i);
+        }
+
+        int visited = 0;
+        for (int i = store.nextAlive(0); i >= 0; i = store.nextAlive(i + 1)) {
+            assertEquals(1, i % 2);
+            visited++;
+        }
+        assertEquals(store.size(), visited);
+    }
+
+    @Test
+    @DisplayName("Compaction should pack live fish in order")
+    void compactShouldPackLiveFish() {
+        FishStore store = storeWith(100);
+        for (int i = 0; i < 100; i++) {
+            if (i % 3 != 0) {
+                store.kill(i);
+            }
+        }
+
+        int reclaimed = store.compact();
+
+        assertEquals(66, reclaimed);
+        assertEquals(34, store.size());
+        assertEquals(34, store.slotCount());
+        assertEquals(0, store.freeCount());
+        for (int i = 0; i < store.size(); i++) {
+            assertTrue(store.isAlive(i));
+            assertEquals(i * 3.0, store.x(i));
+        }
+        assertFalse(store.isAlive(34));
+    }
+
+    @Test
+    @DisplayName("Trails should keep the newest points, up to the configured length, through compaction")
+    void trailShouldKeepNewestPoints() {
+        FishStore store = storeWith(3);
+        int length = SimulationConfig.TRAIL_LENGTH;
+        for (int t = 0; t < length + 3; t++) {
+            store.recordTrail(2, t, -t);
+        }
+        store.recordTrail(1, 42, 42);
+        store.kill(1);
+        store.compact();
+
+        assertEquals(length, store.trailLength(1));
+        for (int k = 0; k < length; k++) {
+            assertEquals(length + 2 - k, store.trailX(1, k));
+            assertEquals(-(length + 2 - k), store.trailY(1, k));
+        }
+        assertEquals(0, store.trailLength(0));
+    }
+
+    @Test
+    @DisplayName("Sorting by cell should pack fish in Z-order and keep their ids")
+    void sortByCellShouldKeepIds() {
+        FishStore store = new FishStore(200);
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            store.add(random.nextDouble() * 800, random.nextDouble() * 600, 0, FishSpecies.SMALL_FISH);
+        }
+        for (int i = 0; i < 200; i += 5) {
+            store.kill(i);
+        }
+        Map<Long, Double> xById = new HashMap<>();
+        for (int i = store.nextAlive(0); i >= 0; i = store.nextAlive(i + 1)) {
+            xById.put(store.id(i), store.x(i));
+            store.recordTrail(i, store.x(i), store.y(i));
+        }
+        assertTrue(store.cellDisorder(50) > 0.3);
+
+        store.sortByCell(50);
+
+        assertEquals(160, store.slotCount());
+        assertEquals(0, store.freeCount());
+        assertEquals(0.0, store.cellDisorder(50));
+        for (int i = 0; i < store.size(); i++) {
+            assertEquals(xById.remove(store.id(i)), store.x(i));
+            if (i > 0) {
+                assertTrue(FishStore.cellKey(store.x(i - 1), store.y(i - 1), 50)
+                        <= FishStore.cellKey(store.x(i), store.y(i), 50));
+            }
+        }
+        assertTrue(xById.isEmpty());
+        // Trails follow their fish through the shuffle
+        for (int i = 0; i < store.size(); i++) {
+            assertEquals(1, store.trailLength(i));
+            assertEquals(store.x(i), store.trailX(i, 0), 1e-3);
+        }
+    }
+}
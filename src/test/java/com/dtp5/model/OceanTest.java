@@ -1,11 +1,14 @@
 package com.dtp5.model;
 
+import com.dtp5.config.EcosystemParameters;
 import com.dtp5.config.SimulationConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Nested;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -41,14 +44,14 @@ class OceanTest {
         @Test
         @DisplayName("Ocean should initialize with correct fish count")
         void shouldInitializeWithCorrectFishCount() {
-            assertEquals(TEST_FISH_COUNT, ocean.poissons.length);
+            assertEquals(TEST_FISH_COUNT, ocean.fish.size());
         }
 
         @Test
         @DisplayName("All fish should be alive initially")
         void allFishShouldBeAliveInitially() {
-            for (Poisson fish : ocean.poissons) {
-                assertTrue(fish.alive, "Fish should be alive initially");
+            for (int i = 0; i < ocean.fish.size(); i++) {
+                assertTrue(ocean.fish.isAlive(i), "Fish should be alive initially");
             }
         }
 
@@ -102,16 +105,16 @@ class OceanTest {
         @Test
         @DisplayName("Should add fish correctly")
         void shouldAddFish() {
-            int initialCount = ocean.poissons.length;
+            int initialCount = ocean.fish.size();
             ocean.addFish(10);
-            assertEquals(initialCount + 10, ocean.poissons.length);
+            assertEquals(initialCount + 10, ocean.fish.size());
         }
 
         @Test
         @DisplayName("Should not exceed max fish limit")
         void shouldNotExceedMaxFish() {
             ocean.addFish(SimulationConfig.MAX_FISH * 2);
-            assertTrue(ocean.poissons.length <= SimulationConfig.MAX_FISH);
+            assertTrue(ocean.fish.size() <= SimulationConfig.MAX_FISH);
         }
 
         @Test
@@ -189,16 +192,16 @@ class OceanTest {
         @Test
         @DisplayName("Fish positions should change after update")
         void fishPositionsShouldChange() {
-            double initialX = ocean.poissons[0].posX;
-            double initialY = ocean.poissons[0].posY;
+            double initialX = ocean.fish.x(0);
+            double initialY = ocean.fish.y(0);
 
             for (int i = 0; i < 10; i++) {
                 ocean.updateOcean();
             }
 
             // At least one coordinate should have changed
-            boolean positionChanged = ocean.poissons[0].posX != initialX ||
-                    ocean.poissons[0].posY != initialY;
+            boolean positionChanged = ocean.fish.x(0) != initialX ||
+                    ocean.fish.y(0) != initialY;
 
             assertTrue(positionChanged, "Fish position should change after updates");
         }
@@ -214,6 +217,27 @@ class OceanTest {
 
             assertNotEquals(initialPhase, ocean.dayNightCycle.getPhase());
         }
+
+        @Test
+        @DisplayName("Resizing should keep the field and the indexed entities")
+        void resizeShouldKeepState() {
+            ocean.addShark();
+            for (int i = 0; i < 20; i++) {
+                ocean.updateOcean();
+            }
+            EnvironmentalField field = ocean.environmentalField;
+            EnvironmentalField.CurrentPattern pattern = EnvironmentalField.CurrentPattern.WHIRLPOOL;
+            field.setPattern(pattern);
+
+            ocean.setDimensions(TEST_WIDTH * 2, TEST_HEIGHT * 1.5);
+
+            assertSame(field, ocean.environmentalField);
+            assertEquals(pattern, field.getPattern());
+            assertEquals(TEST_WIDTH * 2 / SimulationConfig.ENV_FIELD_CELLS, field.getCellWidth(), 1e-9);
+            EntityLayer<Shark> sharks = ocean.getWorldIndex().sharks;
+            assertEquals(0, sharks.nearest(sharks.x(0), sharks.y(0), 1));
+            assertDoesNotThrow(() -> ocean.updateOcean());
+        }
     }
 
     @Nested
@@ -258,6 +282,112 @@ class OceanTest {
         }
     }
 
+    @Nested
+    @DisplayName("Snapshot Tests")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Snapshot should not change when the ocean keeps updating")
+        void snapshotShouldBeIsolated() {
+            ocean.addShark();
+            FrameSnapshot frame = ocean.snapshot();
+            double fishX = frame.fishX(0);
+            double sharkX = frame.sharks.get(0).posX;
+            long frameCount = frame.frameCount;
+
+            for (int i = 0; i < 5; i++) {
+                ocean.updateOcean();
+            }
+
+            assertEquals(fishX, frame.fishX(0));
+            assertEquals(sharkX, frame.sharks.get(0).posX);
+            assertEquals(frameCount, frame.frameCount);
+            assertNotEquals(ocean.sharks.get(0).posX, sharkX);
+        }
+
+        @Test
+        @DisplayName("Queued commands should run on the next update")
+        void queuedCommandsShouldRunOnNextUpdate() {
+            int initial = ocean.obstacles.size();
+            ocean.invokeLater(() -> ocean.addObstacle(100, 100, 50));
+            assertEquals(initial, ocean.obstacles.size());
+
+            ocean.updateOcean();
+            assertEquals(initial + 1, ocean.obstacles.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Determinism Tests")
+    class DeterminismTests {
+
+        private Ocean run(long seed, int parallelism) {
+            Ocean seeded = new Ocean(400, TEST_WIDTH, TEST_HEIGHT, seed, parallelism);
+            for (int i = 0; i < 3; i++) {
+                seeded.addShark();
+            }
+            seeded.toggleFisherman();
+            for (int t = 0; t < 150; t++) {
+                seeded.updateOcean();
+            }
+            seeded.shutdown();
+            return seeded;
+        }
+
+        @Test
+        @DisplayName("Same seed should give identical runs for any thread count")
+        void sameSeedShouldBeReproducible() {
+            Ocean single = run(1234, 1);
+            Ocean parallel = run(1234, 4);
+
+            assertEquals(single.fish.size(), parallel.fish.size());
+            assertEquals(single.stats.getBirths(), parallel.stats.getBirths());
+            assertEquals(single.stats.getDeaths(), parallel.stats.getDeaths());
+            for (int i = single.fish.nextAlive(0); i >= 0; i = single.fish.nextAlive(i + 1)) {
+                assertTrue(parallel.fish.isAlive(i));
+                assertEquals(single.fish.x(i), parallel.fish.x(i), "posX of fish " + i);
+                assertEquals(single.fish.y(i), parallel.fish.y(i), "posY of fish " + i);
+            }
+            for (int s = 0; s < single.sharks.size(); s++) {
+                assertEquals(single.sharks.get(s).posX, parallel.sharks.get(s).posX);
+                assertEquals(single.sharks.get(s).posY, parallel.sharks.get(s).posY);
+            }
+        }
+
+        @Test
+        @DisplayName("Oceans on a shared pool should match oceans with their own pool")
+        void sharedPoolShouldMatchOwnedPool() {
+            Ocean owned = run(99, 2);
+            ForkJoinPool pool = new ForkJoinPool(2);
+            try {
+                Ocean shared = new Ocean(400, TEST_WIDTH, TEST_HEIGHT, 99, EcosystemParameters.DEFAULTS, pool);
+                for (int i = 0; i < 3; i++) {
+                    shared.addShark();
+                }
+                shared.toggleFisherman();
+                for (int t = 0; t < 150; t++) {
+                    shared.updateOcean();
+                }
+                shared.shutdown();
+
+                assertFalse(pool.isShutdown(), "Ocean must not shut down a pool it does not own");
+                assertEquals(owned.fish.size(), shared.fish.size());
+                assertEquals(owned.stats.getBirths(), shared.stats.getBirths());
+                assertEquals(owned.fish.x(0), shared.fish.x(0));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Different seeds should give different runs")
+        void differentSeedsShouldDiffer() {
+            Ocean a = run(1, 2);
+            Ocean b = run(2, 2);
+            assertNotEquals(a.fish.x(0), b.fish.x(0));
+        }
+    }
+
     @Test
     @DisplayName("Should shutdown cleanly")
     void shouldShutdownCleanly() {
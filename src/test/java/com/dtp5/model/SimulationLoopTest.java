@@ -0,0 +1,114 @@
+package com.dtp5.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SimulationLoop, driven one iteration at a time on a fake
+ * clock.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+class SimulationLoopTest {
+
+    /** 100 ticks per second */
+    private static final long STEP = 10_000_000L;
+
+    private Ocean ocean;
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger frames = new AtomicInteger();
+    private SimulationLoop loop;
+
+    @BeforeEach
+    void setUp() {
+        ocean = new Ocean(20, 800, 600, 1, 1);
+        loop = new SimulationLoop(ocean, 100, 3, frames::incrementAndGet, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ocean.shutdown();
+    }
+
+    @Test
+    @DisplayName("The loop should run one tick per step of elapsed time and wait out the remainder")
+    void shouldRunDueTicks() {
+        clock.set(2 * STEP + STEP / 2);
+
+        long wait = loop.iterate();
+
+        assertEquals(2, ocean.getFrameCount());
+        assertEquals(STEP / 2, wait);
+        assertEquals(0, loop.getSkippedTicks());
+        assertEquals(1, frames.get());
+    }
+
+    @Test
+    @DisplayName("A stall should run at most maxSubsteps ticks and skip the rest of the backlog")
+    void stallShouldCapSubstepsAndSkipBacklog() {
+        clock.set(10 * STEP);
+
+        loop.iterate();
+
+        assertEquals(3, ocean.getFrameCount());
+        assertEquals(7, loop.getSkippedTicks());
+        assertEquals(1, loop.getPublishedFrames());
+    }
+
+    @Test
+    @DisplayName("A new frame should only be captured once the renderer took the last one")
+    void shouldCaptureOnlyAfterPoll() {
+        clock.set(STEP);
+        loop.iterate();
+        clock.set(2 * STEP);
+        loop.iterate();
+
+        assertEquals(1, loop.getPublishedFrames());
+        assertEquals(1, loop.poll().frameCount);
+
+        clock.set(3 * STEP);
+        loop.iterate();
+        assertEquals(3, loop.poll().frameCount);
+        assertEquals(1, loop.getDroppedFrames());
+    }
+
+    @Test
+    @DisplayName("A paused loop should apply queued commands without ticking")
+    void pausedLoopShouldRunCommands() {
+        loop.setPaused(true);
+        int fish = ocean.fish.size();
+        ocean.invokeLater(() -> ocean.fish.add(100, 100, 0));
+        clock.set(5 * STEP);
+
+        loop.iterate();
+
+        assertEquals(0, ocean.getFrameCount());
+        assertEquals(fish + 1, ocean.fish.size());
+        assertEquals(fish + 1, loop.poll().fishCount);
+    }
+
+    @Test
+    @DisplayName("A failing tick should pause the loop instead of retrying every step")
+    void failedTickShouldPause() {
+        ocean.invokeLater(() -> {
+            throw new IllegalStateException("broken command");
+        });
+        clock.set(2 * STEP);
+
+        loop.iterate();
+        assertTrue(loop.isPaused());
+
+        clock.set(20 * STEP);
+        loop.iterate();
+        assertEquals(0, ocean.getFrameCount());
+        assertEquals(0, loop.getSkippedTicks());
+    }
+}
@@ -0,0 +1,274 @@
+package com.dtp5.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the spatial grid queries.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+class SpatialGridTest {
+
+    private static final double WIDTH = 800;
+    private static final double HEIGHT = 600;
+
+    private static FishStore randomFish(int count, long seed) {
+        Random random = new Random(seed);
+        FishStore store = new FishStore(count);
+        for (int i = 0; i < count; i++) {
+            store.add(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT, 0, FishSpecies.SMALL_FISH);
+        }
+        return store;
+    }
+
+    private static int[] sorted(int[] values, int count) {
+        int[] copy = Arrays.copyOf(values, count);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    /**
+     * Brute-force reference: every live fish whose cell is within one cell of
+     * the probe's cell.
+     */
+    private static int[] bruteForce(FishStore store, double x, double y, int cellSize) {
+        int cx = (int) (x / cellSize);
+        int cy = (int) (y / cellSize);
+        List<Integer> result = new ArrayList<>();
+        for (int i = store.nextAlive(0); i >= 0; i = store.nextAlive(i + 1)) {
+            int fx = (int) (store.x(i) / cellSize);
+            int fy = (int) (store.y(i) / cellSize);
+            if (Math.abs(fx - cx) <= 1 && Math.abs(fy - cy) <= 1) {
+                result.add(i);
+            }
+        }
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    @DisplayName("Visitor and buffer queries should find exactly the fish in the 3x3 block")
+    void allQueryFormsShouldAgree() {
+        FishStore store = randomFish(500, 7);
+        for (int i = 0; i < 500; i += 7) {
+            store.kill(i);
+        }
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, 100);
+        grid.rebuild(store);
+        SpatialIndex.Neighbors buffer = new SpatialIndex.Neighbors();
+
+        double[][] probes = { { 0, 0 }, { 400, 300 }, { WIDTH, HEIGHT }, { 55, 590 }, { -50, 20 } };
+        for (double[] p : probes) {
+            int[] expected = bruteForce(store, p[0], p[1], 100);
+            assertArrayEquals(expected, sorted(grid.getNearbyFish(p[0], p[1]), expected.length));
+
+            List<Integer> visited = new ArrayList<>();
+            grid.forEachNearby(p[0], p[1], visited::add);
+            int[] fromVisitor = sorted(visited.stream().mapToInt(Integer::intValue).toArray(), visited.size());
+
+            int count = grid.gatherNearby(p[0], p[1], buffer);
+
+            assertArrayEquals(expected, fromVisitor);
+            assertArrayEquals(expected, sorted(buffer.indices(), count));
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel rebuild should produce the same cell order as a sequential one")
+    void parallelRebuildShouldMatchSequential() {
+        FishStore store = randomFish(6000, 11);
+        for (int i = 3; i < 6000; i += 5) {
+            store.kill(i);
+        }
+        SpatialGrid sequential = new SpatialGrid(WIDTH, HEIGHT, 100);
+        SpatialGrid parallel = new SpatialGrid(WIDTH, HEIGHT, 100);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            sequential.rebuild(store);
+            parallel.rebuild(store, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (double x = 0; x <= WIDTH; x += 50) {
+            for (double y = 0; y <= HEIGHT; y += 50) {
+                assertArrayEquals(sequential.getNearbyFish(x, y), parallel.getNearbyFish(x, y));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Incremental updates should index the same fish as a full rebuild")
+    void incrementalUpdateShouldMatchRebuild() {
+        FishStore store = randomFish(600, 5);
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, 50);
+        grid.update(store, null);
+        Random random = new Random(9);
+        SpatialIndex.Neighbors incremental = new SpatialIndex.Neighbors();
+        SpatialIndex.Neighbors rebuilt = new SpatialIndex.Neighbors();
+
+        for (int step = 0; step < 30; step++) {
+            for (int i = store.nextAlive(0); i >= 0; i = store.nextAlive(i + 1)) {
+                store.posX[i] += random.nextDouble() * 20 - 10;
+                store.posY[i] += random.nextDouble() * 20 - 10;
+            }
+            // Deaths, births into freed slots, and a crowd converging on one cell
+            store.kill(random.nextInt(store.slotCount()));
+            store.add(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT, 0, FishSpecies.SMALL_FISH);
+            if (step == 20) {
+                for (int i = 0; i < 100; i++) {
+                    store.add(410, 310, 0, FishSpecies.SMALL_FISH);
+                }
+            }
+            grid.update(store, null);
+
+            SpatialGrid reference = new SpatialGrid(WIDTH, HEIGHT, 50);
+            reference.rebuild(store);
+            for (int probe = 0; probe < 20; probe++) {
+                double x = random.nextDouble() * WIDTH;
+                double y = random.nextDouble() * HEIGHT;
+                int count = grid.gatherWithin(x, y, 120, incremental);
+                int expected = reference.gatherWithin(x, y, 120, rebuilt);
+                assertArrayEquals(sorted(rebuilt.indices(), expected), sorted(incremental.indices(), count));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Nearest-neighbor queries should match a sorted linear scan")
+    void nearestShouldMatchLinearScan() {
+        FishStore store = randomFish(800, 13);
+        // Duplicates exercise the lower-index tie-break
+        for (int i = 0; i < 20; i++) {
+            store.add(store.x(i), store.y(i), 0, FishSpecies.SMALL_FISH);
+        }
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, 50);
+        grid.rebuild(store);
+        SpatialIndex.Nearest nearest = new SpatialIndex.Nearest();
+        Random random = new Random(2);
+
+        for (int probe = 0; probe < 200; probe++) {
+            int self = random.nextInt(store.slotCount());
+            double x = probe % 10 == 0 ? -30 : store.x(self);
+            double y = store.y(self);
+            double maxDistance = 20 + random.nextDouble() * 150;
+            int k = 1 + random.nextInt(10);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int j = store.nextAlive(0); j >= 0; j = store.nextAlive(j + 1)) {
+                double dx = store.x(j) - x;
+                double dy = store.y(j) - y;
+                if (j != self && dx * dx + dy * dy < maxDistance * maxDistance) {
+                    expected.add(j);
+                }
+            }
+            expected.sort((a, b) -> {
+                int byDistance = Double.compare(Math.hypot(store.x(a) - x, store.y(a) - y),
+                        Math.hypot(store.x(b) - x, store.y(b) - y));
+                return byDistance != 0 ? byDistance : Integer.compare(a, b);
+            });
+
+            int count = grid.gatherNearest(store, x, y, maxDistance, k, self, nearest);
+
+            assertEquals(Math.min(k, expected.size()), count);
+            for (int n = 0; n < count; n++) {
+                assertEquals(expected.get(n), nearest.index(n));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Nearest-neighbor queries should find fish binned into the border cells from off the map")
+    void nearestShouldFindFishBinnedFromOffMap() {
+        FishStore store = new FishStore(3);
+        int self = store.add(-20, 300, 0, FishSpecies.SMALL_FISH);
+        // Cell (0, 6), 52 px away: found first
+        store.add(1, 300 + Math.sqrt(52 * 52 - 21 * 21), 0, FishSpecies.SMALL_FISH);
+        // Cell (0, 7), 51 px away but over 52 px from that cell's in-map part
+        int closest = store.add(-20, 351, 0, FishSpecies.SMALL_FISH);
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, 50);
+        grid.rebuild(store);
+        SpatialIndex.Nearest nearest = new SpatialIndex.Nearest();
+
+        assertEquals(1, grid.gatherNearest(store, store.x(self), store.y(self), 100, 1, self, nearest));
+        assertEquals(closest, nearest.index(0));
+    }
+
+    @Test
+    @DisplayName("Range queries should cover every fish within the radius and little else")
+    void rangeQueryShouldCoverRadius() {
+        FishStore store = randomFish(3000, 3);
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, 25);
+        grid.rebuild(store);
+        SpatialIndex.Neighbors buffer = new SpatialIndex.Neighbors();
+
+        double[] radii = { 10, 40, 90, 200 };
+        double[][] probes = { { 400, 300 }, { 3, 597 }, { 790, 10 }, { 123.4, 456.7 } };
+        for (double r : radii) {
+            for (double[] p : probes) {
+                int count = grid.gatherWithin(p[0], p[1], r, buffer);
+                int[] found = sorted(buffer.indices(), count);
+
+                List<Integer> visited = new ArrayList<>();
+                grid.forEachWithin(p[0], p[1], r, visited::add);
+                assertEquals(count, visited.size());
+
+                for (int i = 0; i < store.size(); i++) {
+                    double dx = store.x(i) - p[0];
+                    double dy = store.y(i) - p[1];
+                    double d = Math.sqrt(dx * dx + dy * dy);
+                    if (d < r) {
+                        assertTrue(Arrays.binarySearch(found, i) >= 0, "fish " + i + " at " + d + " missed");
+                    }
+                    if (d > r + 2 * 25 * Math.sqrt(2)) {
+                        assertTrue(Arrays.binarySearch(found, i) < 0, "fish " + i + " at " + d + " is too far");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Entity layer nearest should match a linear scan, including entities off the map")
+    void entityLayerNearestShouldMatchLinearScan() {
+        Random random = new Random(5);
+        List<ZoneAEviter> obstacles = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // Some obstacles deliberately lie outside the world
+            obstacles.add(new ZoneAEviter(random.nextDouble() * 1000 - 100, random.nextDouble() * 800 - 100,
+                    10 + random.nextDouble() * 40));
+        }
+        obstacles.add(new ZoneAEviter(obstacles.get(0).posX, obstacles.get(0).posY, 5)); // Exact tie
+        EntityLayer<ZoneAEviter> layer = new EntityLayer<>(WIDTH, HEIGHT, 100, o -> o.posX, o -> o.posY,
+                o -> o.rayon);
+        layer.rebuild(obstacles);
+
+        for (int probe = 0; probe < 500; probe++) {
+            double x = random.nextDouble() * WIDTH;
+            double y = random.nextDouble() * HEIGHT;
+            double range = random.nextDouble() * 150;
+
+            int expected = -1;
+            double best = range * range;
+            for (int i = 0; i < obstacles.size(); i++) {
+                double dx = obstacles.get(i).posX - x;
+                double dy = obstacles.get(i).posY - y;
+                if (dx * dx + dy * dy < best) {
+                    best = dx * dx + dy * dy;
+                    expected = i;
+                }
+            }
+            assertEquals(expected, layer.nearest(x, y, range));
+        }
+        assertEquals(0, layer.nearest(obstacles.get(0).posX, obstacles.get(0).posY, 1));
+    }
+}
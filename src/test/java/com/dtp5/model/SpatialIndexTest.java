@@ -0,0 +1,223 @@
+package com.dtp5.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks every fish spatial index backend against linear scans, on both
+ * evenly spread and tightly clustered fish.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+class SpatialIndexTest {
+
+    private static final double WIDTH = 800;
+    private static final double HEIGHT = 600;
+
+    /**
+     * Half the fish spread over the world, half packed into two small
+     * schools, plus a few stacked on one spot and a few off the map.
+     */
+    private static FishStore mixedFish(long seed) {
+        Random random = new Random(seed);
+        FishStore store = new FishStore(1000);
+        for (int i = 0; i < 500; i++) {
+            store.add(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT, 0, FishSpecies.SMALL_FISH);
+        }
+        for (int i = 0; i < 460; i++) {
+            double cx = i % 2 == 0 ? 200 : 610;
+            store.add(cx + random.nextGaussian() * 8, 300 + random.nextGaussian() * 8, 0, FishSpecies.SMALL_FISH);
+        }
+        for (int i = 0; i < 30; i++) {
+            store.add(400, 100, 0, FishSpecies.SMALL_FISH);
+        }
+        for (int i = 0; i < 10; i++) {
+            store.add(-20 - i, HEIGHT + i, 0, FishSpecies.SMALL_FISH);
+        }
+        for (int i = 0; i < 1000; i += 9) {
+            store.kill(i);
+        }
+        return store;
+    }
+
+    @ParameterizedTest
+    @EnumSource(SpatialIndexType.class)
+    @DisplayName("Range queries should return every fish within the radius")
+    void withinShouldCoverRadius(SpatialIndexType type) {
+        FishStore store = mixedFish(1);
+        SpatialIndex index = type.create(WIDTH, HEIGHT);
+        index.update(store, null);
+        SpatialIndex.Neighbors buffer = new SpatialIndex.Neighbors();
+        Random random = new Random(4);
+
+        for (int probe = 0; probe < 200; probe++) {
+            double x = random.nextDouble() * WIDTH;
+            double y = random.nextDouble() * HEIGHT;
+            double radius = random.nextDouble() * 120;
+            int count = index.gatherWithin(x, y, radius, buffer);
+            int[] found = Arrays.copyOf(buffer.indices(), count);
+            Arrays.sort(found);
+            List<Integer> visited = new ArrayList<>();
+            index.forEachWithin(x, y, radius, visited::add);
+            assertEquals(count, visited.size());
+
+            for (int j = store.nextAlive(0); j >= 0; j = store.nextAlive(j + 1)) {
+                double dx = store.x(j) - x;
+                double dy = store.y(j) - y;
+                if (dx * dx + dy * dy <= radius * radius) {
+                    assertTrue(Arrays.binarySearch(found, j) >= 0, "missed fish " + j);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(SpatialIndexType.class)
+    @DisplayName("Nearest-neighbor queries should match a sorted linear scan")
+    void nearestShouldMatchLinearScan(SpatialIndexType type) {
+        FishStore store = mixedFish(2);
+        SpatialIndex index = type.create(WIDTH, HEIGHT);
+        index.update(store, null);
+        SpatialIndex.Nearest nearest = new SpatialIndex.Nearest();
+        Random random = new Random(6);
+
+        for (int probe = 0; probe < 300; probe++) {
+            int self = store.nextAlive(random.nextInt(store.slotCount()));
+            if (self < 0) {
+                continue;
+            }
+            double x = store.x(self);
+            double y = store.y(self);
+            double maxDistance = 10 + random.nextDouble() * 150;
+            int k = 1 + random.nextInt(12);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int j = store.nextAlive(0); j >= 0; j = store.nextAlive(j + 1)) {
+                double dx = store.x(j) - x;
+                double dy = store.y(j) - y;
+                if (j != self && dx * dx + dy * dy < maxDistance * maxDistance) {
+                    expected.add(j);
+                }
+            }
+            expected.sort((a, b) -> {
+                double da = (store.x(a) - x) * (store.x(a) - x) + (store.y(a) - y) * (store.y(a) - y);
+                double db = (store.x(b) - x) * (store.x(b) - x) + (store.y(b) - y) * (store.y(b) - y);
+                return da != db ? Double.compare(da, db) : Integer.compare(a, b);
+            });
+
+            int count = index.gatherNearest(store, x, y, maxDistance, k, self, nearest);
+
+            assertEquals(Math.min(k, expected.size()), count);
+            for (int n = 0; n < count; n++) {
+                assertEquals(expected.get(n), nearest.index(n), type + " neighbor " + n);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(SpatialIndexType.class)
+    @DisplayName("The vector kernel should give the scalar kernel's hits, distances and neighbors")
+    void vectorKernelShouldMatchScalar(SpatialIndexType type) {
+        assumeTrue(NeighborKernel.vectorAvailable(), "jdk.incubator.vector not loaded");
+        NeighborKernel scalar = NeighborKernel.scalar();
+        NeighborKernel vector = NeighborKernel.vector();
+        Random random = new Random(8);
+
+        // Raw kernel, over ranges of every length around the lane count
+        double[] xs = new double[64];
+        double[] ys = new double[64];
+        for (int n = 0; n < xs.length; n++) {
+            xs[n] = random.nextDouble() * 100;
+            ys[n] = random.nextDouble() * 100;
+        }
+        int[] expectedHits = new int[xs.length];
+        double[] expectedDistances = new double[xs.length];
+        int[] hits = new int[xs.length];
+        double[] distances = new double[xs.length];
+        for (int from = 0; from < 5; from++) {
+            for (int to = from; to <= xs.length; to++) {
+                double x = random.nextDouble() * 100;
+                double y = random.nextDouble() * 100;
+                double maxSq = random.nextDouble() * 2500;
+                int expected = scalar.closerThan(xs, ys, from, to, x, y, maxSq, expectedHits, expectedDistances);
+                int count = vector.closerThan(xs, ys, from, to, x, y, maxSq, hits, distances);
+                assertEquals(expected, count);
+                for (int h = 0; h < count; h++) {
+                    assertEquals(expectedHits[h], hits[h]);
+                    assertEquals(expectedDistances[h], distances[h]);
+                }
+            }
+        }
+
+        // Index queries
+        FishStore store = mixedFish(3);
+        SpatialIndex reference = type.create(WIDTH, HEIGHT);
+        SpatialIndex index = type.create(WIDTH, HEIGHT);
+        index.setKernel(vector);
+        reference.update(store, null);
+        index.update(store, null);
+        SpatialIndex.Nearest expected = new SpatialIndex.Nearest();
+        SpatialIndex.Nearest nearest = new SpatialIndex.Nearest();
+        for (int i = store.nextAlive(0); i >= 0; i = store.nextAlive(i + 1)) {
+            int count = index.gatherNearest(store, store.x(i), store.y(i), 80, 7, i, nearest);
+            assertEquals(reference.gatherNearest(store, store.x(i), store.y(i), 80, 7, i, expected), count);
+            for (int n = 0; n < count; n++) {
+                assertEquals(expected.index(n), nearest.index(n), type + " neighbor " + n);
+                assertEquals(expected.distanceSq(n), nearest.distanceSq(n));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Verlet lists should give the index's neighbors while fish move, die and spawn")
+    void verletListsShouldMatchIndex() {
+        FishStore store = mixedFish(3);
+        SpatialIndex index = SpatialIndexType.GRID.create(WIDTH, HEIGHT);
+        VerletLists lists = new VerletLists(20);
+        SpatialIndex.Nearest expected = new SpatialIndex.Nearest();
+        SpatialIndex.Nearest actual = new SpatialIndex.Nearest();
+        Random random = new Random(8);
+        int reused = 0;
+
+        for (int step = 0; step < 40; step++) {
+            for (int j = store.nextAlive(0); j >= 0; j = store.nextAlive(j + 1)) {
+                store.posX[j] += (random.nextDouble() - 0.5) * 6;
+                store.posY[j] += (random.nextDouble() - 0.5) * 6;
+            }
+            if (step % 7 == 3) {
+                store.kill(store.nextAlive(random.nextInt(store.slotCount())));
+            }
+            if (step % 3 == 0) {
+                // Next to a live fish, often in the slot just freed
+                int near = Math.max(0, store.nextAlive(random.nextInt(store.slotCount())));
+                store.add(store.x(near) + 5, store.y(near) - 5, 0, FishSpecies.SMALL_FISH);
+            }
+            index.update(store, null);
+            if (!lists.refresh(store, index, null)) {
+                reused++;
+            }
+
+            for (int i = store.nextAlive(0); i >= 0; i = store.nextAlive(i + 1)) {
+                double maxDistance = store.species(i).getMaxDistance() - i % 20;
+                int k = 1 + i % 8;
+                int count = index.gatherNearest(store, store.x(i), store.y(i), maxDistance, k, i, expected);
+                assertEquals(count, lists.gatherNearest(store, i, maxDistance, k, actual), "step " + step + " fish " + i);
+                for (int n = 0; n < count; n++) {
+                    assertEquals(expected.index(n), actual.index(n), "step " + step + " fish " + i);
+                }
+            }
+        }
+        assertTrue(reused > 10, "lists were rebuilt every step");
+    }
+}
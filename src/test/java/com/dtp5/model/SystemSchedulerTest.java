@@ -0,0 +1,68 @@
+package com.dtp5.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the tick phase scheduler.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+class SystemSchedulerTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final SystemScheduler<String> scheduler = new SystemScheduler<>(pool, true);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static SystemScheduler.Phase<String> phase(String name, Set<String> reads, Set<String> writes,
+            Runnable action) {
+        return new SystemScheduler.Phase<>(name, reads, writes, action);
+    }
+
+    @Test
+    @DisplayName("Conflicting phases should run in listed order")
+    void conflictingPhasesShouldKeepOrder() {
+        for (int run = 0; run < 50; run++) {
+            List<String> order = Collections.synchronizedList(new ArrayList<>());
+            scheduler.run(List.of(
+                    phase("write", Set.of(), Set.of("a"), () -> order.add("write")),
+                    phase("other", Set.of(), Set.of("b"), () -> order.add("other")),
+                    phase("read", Set.of("a"), Set.of("c"), () -> order.add("read")),
+                    phase("rewrite", Set.of("c"), Set.of("a"), () -> order.add("rewrite"))));
+
+            assertEquals(4, order.size());
+            assertTrue(order.indexOf("write") < order.indexOf("read"));
+            assertTrue(order.indexOf("read") < order.indexOf("rewrite"));
+        }
+    }
+
+    @Test
+    @DisplayName("A failing phase should skip its dependents and be rethrown")
+    void failureShouldSkipDependents() {
+        List<String> ran = Collections.synchronizedList(new ArrayList<>());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> scheduler.run(List.of(
+                phase("broken", Set.of(), Set.of("a"), () -> {
+                    throw new UnsupportedOperationException("boom");
+                }),
+                phase("dependent", Set.of("a"), Set.of(), () -> ran.add("dependent")),
+                phase("independent", Set.of(), Set.of("b"), () -> ran.add("independent")))));
+
+        assertInstanceOf(UnsupportedOperationException.class, e.getCause());
+        assertEquals(List.of("independent"), ran);
+    }
+}
@@ -0,0 +1,47 @@
+package com.dtp5.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-frame world snapshot.
+ *
+ * @author Ocean Ecosystem Team
+ * @version 2.0.0
+ */
+class WorldSnapshotTest {
+
+    @Test
+    @DisplayName("A snapshot should keep the captured state while the entities move on")
+    void snapshotShouldNotFollowLiveEntities() {
+        List<Shark> sharks = new ArrayList<>(List.of(new Shark(10, 20, 0, new SplittableRandom(1))));
+        List<ZoneAEviter> obstacles = List.of(new ZoneAEviter(30, 40, 15));
+        List<PlanktonPatch> planktons = List.of(new PlanktonPatch(50, 60, 120));
+        WorldSnapshot snapshot = new WorldSnapshot();
+        snapshot.capture(sharks, obstacles, planktons);
+
+        sharks.get(0).posX = 500;
+        sharks.add(new Shark(1, 2, 0, new SplittableRandom(2)));
+
+        assertEquals(1, snapshot.sharkCount());
+        assertEquals(10, snapshot.sharkX(0));
+        assertEquals(20, snapshot.sharkY(0));
+        assertEquals(1, snapshot.obstacleCount());
+        assertEquals(15, snapshot.obstacleRadius(0));
+        assertEquals(1, snapshot.planktonCount());
+        assertEquals(60, snapshot.planktonY(0));
+        assertEquals(120, snapshot.planktonBiomass(0));
+
+        // Refilled in place for the next frame
+        snapshot.capture(sharks, List.of(), planktons);
+        assertEquals(2, snapshot.sharkCount());
+        assertEquals(500, snapshot.sharkX(0));
+        assertEquals(0, snapshot.obstacleCount());
+    }
+}